@@ -0,0 +1,64 @@
+package com.enterprise.user_management.benchmark;
+
+import com.enterprise.user_management.security.JwtClaimsCache;
+import com.enterprise.user_management.security.JwtUtil;
+import com.enterprise.user_management.security.ParsedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Compares the filter's old three-parse token check against the single-parse ParsedToken path
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParseBenchmark {
+
+    @Param({"false", "true"})
+    private boolean claimsCacheEnabled;
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtClaimsCache claimsCache = new JwtClaimsCache();
+        ReflectionTestUtils.setField(claimsCache, "enabled", claimsCacheEnabled);
+        ReflectionTestUtils.setField(claimsCache, "maxSize", 10_000L);
+        ReflectionTestUtils.setField(claimsCache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(claimsCache, "init");
+
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmarkSecretThatIsLongEnoughForHmacSha256Signing");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCache", claimsCache);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+
+        userDetails = User.withUsername("benchuser")
+                .password("n/a")
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_USER")))
+                .build();
+        token = jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean legacyExtractThenValidate() {
+        String username = jwtUtil.extractUsername(token);
+        return username != null && jwtUtil.validateToken(token, userDetails);
+    }
+
+    @Benchmark
+    public boolean parseOnceThenValidate() {
+        ParsedToken parsedToken = jwtUtil.parseToken(token);
+        return parsedToken.getSubject() != null && jwtUtil.validateToken(parsedToken, userDetails);
+    }
+}
@@ -0,0 +1,160 @@
+package com.enterprise.user_management.benchmark;
+
+import com.enterprise.user_management.UserManagementApplication;
+import com.enterprise.user_management.entity.User;
+import com.enterprise.user_management.enums.UserRole;
+import com.enterprise.user_management.repository.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+// Load comparison of Tomcat platform threads vs virtual threads on the read endpoints.
+// Each operation is a burst of `concurrency` simultaneous requests against an embedded server;
+// every SQL statement sleeps dbLatencyMillis to stand in for the network round trip to Postgres.
+// The virtual variant needs a Java 21 runtime: mvn -Pbenchmark,java21 test-compile exec:exec
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+public class ReadEndpointLoadBenchmark {
+
+    private static final int USERS = 1_000;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"200", "1000"})
+    private int concurrency;
+
+    @Param({"5"})
+    private long dbLatencyMillis;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private List<URI> userUris;
+    private URI pageUri;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        boolean virtual = threads.equals("virtual");
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need a Java 21 runtime");
+        }
+        SimulatedDbLatency.millis = dbLatencyMillis;
+
+        // Command-line arguments, so they take precedence over application.yml
+        context = new SpringApplicationBuilder(UserManagementApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.url=jdbc:h2:mem:loadbench;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.hikari.maximum-pool-size=50",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + SimulatedDbLatency.class.getName(),
+                "--security.login-throttle.enabled=false",
+                // The default profile logs every request and statement at DEBUG
+                "--logging.level.root=WARN",
+                "--logging.level.com.enterprise.user_management=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+
+        seedUsers();
+
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        String baseUrl = "http://localhost:" + port + "/api/users";
+        userUris = new ArrayList<>();
+        for (User user : context.getBean(UserRepository.class).findAll()) {
+            userUris.add(URI.create(baseUrl + "/" + user.getId()));
+        }
+        pageUri = URI.create(baseUrl + "?page=0&size=20");
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        context.close();
+    }
+
+    @Benchmark
+    public void getUserById() {
+        burst(i -> userUris.get(i % userUris.size()));
+    }
+
+    @Benchmark
+    public void getUsersPage() {
+        burst(i -> pageUri);
+    }
+
+    private void burst(IntFunction<URI> uris) {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            HttpRequest request = HttpRequest.newBuilder(uris.apply(i)).GET().build();
+            responses[i] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("Unexpected status " + response.statusCode());
+                        }
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+    }
+
+    private void seedUsers() {
+        long latency = SimulatedDbLatency.millis;
+        SimulatedDbLatency.millis = 0;
+
+        String encodedPassword = context.getBean(PasswordEncoder.class).encode("password123");
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User("loaduser" + i, "loaduser" + i + "@example.com", encodedPassword, UserRole.USER);
+            user.setFirstName("Load");
+            user.setLastName("User" + i);
+            user.setActive(true);
+            users.add(user);
+        }
+        context.getBean(UserRepository.class).saveAll(users);
+
+        SimulatedDbLatency.millis = latency;
+    }
+
+    // Registered as Hibernate's statement inspector; blocks the calling thread like a real round trip
+    public static class SimulatedDbLatency implements StatementInspector {
+
+        static volatile long millis;
+
+        @Override
+        public String inspect(String sql) {
+            if (millis > 0) {
+                try {
+                    Thread.sleep(millis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return sql;
+        }
+    }
+}
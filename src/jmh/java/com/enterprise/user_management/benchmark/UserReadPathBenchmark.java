@@ -0,0 +1,124 @@
+package com.enterprise.user_management.benchmark;
+
+import com.enterprise.user_management.UserManagementApplication;
+import com.enterprise.user_management.dto.UserResponseDTO;
+import com.enterprise.user_management.entity.User;
+import com.enterprise.user_management.enums.UserRole;
+import com.enterprise.user_management.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Compares the old read path (load User entities, copy through UserResponseDTO.fromEntity) with the
+// JPQL constructor projections, both inside a read-only transaction as in UserServiceImpl.
+// Run with the GC profiler to see allocation per operation: -prof gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class UserReadPathBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int PAGE_SIZE = 50;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        // Command-line arguments, so they take precedence over application.yml
+        context = new SpringApplicationBuilder(UserManagementApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:readpathbench;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--users.search.index.enabled=false",
+                "--users.stats.counters.enabled=false",
+                // The default profile logs every statement at DEBUG
+                "--logging.level.root=WARN",
+                "--logging.level.com.enterprise.user_management=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+
+        userRepository = context.getBean(UserRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        seedUsers();
+        firstId = userRepository.findAll(PageRequest.of(0, 1, Sort.by("id"))).getContent().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserResponseDTO byIdEntity() {
+        long id = randomId();
+        return readOnlyTransaction.execute(status ->
+                userRepository.findById(id).map(UserResponseDTO::fromEntity).orElseThrow());
+    }
+
+    @Benchmark
+    public UserResponseDTO byIdProjection() {
+        long id = randomId();
+        return readOnlyTransaction.execute(status -> userRepository.findResponseById(id).orElseThrow());
+    }
+
+    @Benchmark
+    public Page<UserResponseDTO> pageEntity() {
+        Pageable pageable = randomPage();
+        return readOnlyTransaction.execute(status ->
+                userRepository.findAll(pageable).map(UserResponseDTO::fromEntity));
+    }
+
+    @Benchmark
+    public Page<UserResponseDTO> pageProjection() {
+        Pageable pageable = randomPage();
+        return readOnlyTransaction.execute(status -> userRepository.findResponsePage(pageable));
+    }
+
+    private long randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(USERS);
+    }
+
+    private Pageable randomPage() {
+        return PageRequest.of(ThreadLocalRandom.current().nextInt(USERS / PAGE_SIZE), PAGE_SIZE, Sort.by("username"));
+    }
+
+    private void seedUsers() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            // A bcrypt-length hash, as every loaded entity carries one
+            User user = new User("readuser" + i, "readuser" + i + "@example.com",
+                    "$2a$10$abcdefghijklmnopqrstuuN0sUeF4kdYgQW0F1o1JG6lG9m4cYkNe", UserRole.USER);
+            user.setFirstName("Read");
+            user.setLastName("User" + i);
+            user.setPhone("+1555000" + i);
+            user.setActive(true);
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+    }
+}
@@ -0,0 +1,86 @@
+package com.enterprise.user_management.benchmark;
+
+import com.enterprise.user_management.search.IndexedUser;
+import com.enterprise.user_management.search.UserSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Compares the trigram index against the full scan that `LIKE %:search%` forces on the table,
+// over 1M synthetic users held in memory (the scan side has no I/O, so it is a lower bound)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class UserSearchIndexBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda",
+            "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis",
+            "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas"
+    };
+
+    @Param({"1000000"})
+    private int users;
+
+    // Selective term, common name, and a mid-string fragment
+    @Param({"user424242", "johnson", "ber"})
+    private String query;
+
+    private UserSearchIndex index;
+    private List<IndexedUser> documents;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        documents = new ArrayList<>(users);
+        for (long id = 1; id <= users; id++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            documents.add(new IndexedUser(id, "user" + id, "user" + id + "@example.com", firstName, lastName));
+        }
+
+        index = new UserSearchIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(index, "init");
+
+        long start = System.nanoTime();
+        index.load(documents);
+        System.out.printf("%nBuilt index over %d users in %d ms%n",
+                users, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Benchmark
+    public UserSearchIndex.SearchHits indexSearch() {
+        return index.search(query, 0, 20);
+    }
+
+    @Benchmark
+    public int containsScan() {
+        String term = query.toLowerCase(Locale.ROOT);
+        int matches = 0;
+        for (IndexedUser user : documents) {
+            if (contains(user.username(), term) || contains(user.email(), term)
+                    || contains(user.firstName(), term) || contains(user.lastName(), term)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private static boolean contains(String field, String term) {
+        return field != null && field.toLowerCase(Locale.ROOT).contains(term);
+    }
+}
@@ -1,10 +1,103 @@
 package com.enterprise.user_management.config;
 
+import com.enterprise.user_management.datasource.HedgedReadExecutor;
+import com.enterprise.user_management.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableJpaRepositories(basePackages = "com.enterprise.user_management.repository")
 public class DatabaseConfig {
-    // Additional database configuration can be added here if needed
-}
\ No newline at end of file
+
+    @Value("${users.datasource.replica-urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${users.datasource.replica-pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${users.datasource.replica-connection-timeout:1000}")
+    private long replicaConnectionTimeout;
+
+    @Value("${users.datasource.read-your-writes-window:PT5S}")
+    private Duration readYourWritesWindow;
+
+    @Value("${users.datasource.hedging.enabled:true}")
+    private boolean hedgingEnabled;
+
+    @Value("${users.datasource.hedging.percentile:0.95}")
+    private double hedgingPercentile;
+
+    @Value("${users.datasource.hedging.min-delay:PT0.002S}")
+    private Duration hedgingMinDelay;
+
+    @Value("${users.datasource.hedging.max-delay:PT0.2S}")
+    private Duration hedgingMaxDelay;
+
+    @Value("${users.datasource.hedging.query-timeout:PT5S}")
+    private Duration hedgingQueryTimeout;
+
+    @Value("${users.datasource.hedging.threads:32}")
+    private int hedgingThreads;
+
+    // The pool Boot would otherwise create from spring.datasource.*
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // Replicas share the primary's driver and credentials. With none configured every
+    // transaction is routed to the primary.
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .build();
+            replica.setPoolName(name);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setConnectionTimeout(replicaConnectionTimeout);
+            replica.setReadOnly(true);
+            // An unreachable replica must not stop the application from starting
+            replica.setInitializationFailTimeout(-1);
+            replicas.put(name, replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesWindow, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HedgedReadExecutor hedgedReadExecutor(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                                 MeterRegistry meterRegistry) {
+        return new HedgedReadExecutor(replicaRoutingDataSource, hedgingEnabled, hedgingPercentile,
+                hedgingMinDelay, hedgingMaxDelay, hedgingQueryTimeout, hedgingThreads, meterRegistry);
+    }
+
+    // Defers the physical connection to the first statement, once the transaction is known to be read-only
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
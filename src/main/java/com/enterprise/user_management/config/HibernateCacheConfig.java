@@ -0,0 +1,69 @@
+package com.enterprise.user_management.config;
+
+import com.enterprise.user_management.entity.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.UUID;
+
+// Hibernate second-level cache for User, backed by bounded Caffeine caches through JCache.
+// Hibernate keeps it consistent for every write that goes through the session, and evicts the
+// regions on bulk JPQL updates; writes that bypass Hibernate (plain JDBC) only insert new rows.
+@Configuration
+public class HibernateCacheConfig {
+
+    @Value("${users.entity-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${users.entity-cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${users.entity-cache.ttl:PT10M}")
+    private Duration ttl;
+
+    // A URI of its own, so each application context (e.g. per test configuration) gets its own caches
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-l2-" + UUID.randomUUID()), getClass().getClassLoader(),
+                        new Properties());
+        cacheManager.createCache(User.CACHE_REGION, boundedConfiguration());
+        cacheManager.createCache(User.NATURAL_ID_CACHE_REGION, boundedConfiguration());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            if (!enabled) {
+                return;
+            }
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // Never fall back to an unbounded cache for a region declared without configuration
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private CaffeineConfiguration<Object, Object> boundedConfiguration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
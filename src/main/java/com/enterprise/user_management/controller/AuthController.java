@@ -1,17 +1,22 @@
 package com.enterprise.user_management.controller;
 
 import com.enterprise.user_management.dto.*;
+import com.enterprise.user_management.exception.ServiceBusyException;
+import com.enterprise.user_management.security.ClientIpResolver;
 import com.enterprise.user_management.security.JwtUtil;
+import com.enterprise.user_management.security.LoginThrottle;
+import com.enterprise.user_management.security.ParsedToken;
+import com.enterprise.user_management.security.TokenRevocationStore;
+import com.enterprise.user_management.service.AuthService;
+import com.enterprise.user_management.service.RefreshTokenService;
 import com.enterprise.user_management.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -23,6 +28,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -32,7 +38,7 @@ import java.util.Map;
 public class AuthController {
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private AuthService authService;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -43,6 +49,18 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TokenRevocationStore revocationStore;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private ClientIpResolver clientIpResolver;
+
     @Operation(
             summary = "User login",
             description = "Authenticates a user with username/email and password, returns JWT token and user information upon successful authentication"
@@ -79,31 +97,21 @@ public class AuthController {
                     description = "Login credentials containing username/email and password",
                     required = true
             )
-            @Valid @RequestBody AuthRequest authRequest) {
-        try {
-            // Authenticate user
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            authRequest.getUsername(),
-                            authRequest.getPassword()
-                    )
-            );
-
-            // Load user details
-            final UserDetails userDetails = userDetailsService.loadUserByUsername(authRequest.getUsername());
-
-            // Generate JWT token
-            final String jwt = jwtUtil.generateToken(userDetails);
-
-            // Get user information
-            final UserResponseDTO user = userService.getUserByUsername(authRequest.getUsername());
-
-            return ResponseEntity.ok(new AuthResponse(jwt, user));
+            @Valid @RequestBody AuthRequest authRequest,
+            @Parameter(hidden = true) HttpServletRequest request) {
+        // Rejected before the user lookup and password hash
+        String clientIp = clientIpResolver.resolve(request);
+        loginThrottle.acquire(authRequest.getUsername(), clientIp);
 
+        try {
+            AuthResponse response = authService.login(authRequest);
+            loginThrottle.recordSuccess(authRequest.getUsername());
+            return ResponseEntity.ok(response);
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (BadCredentialsException e) {
+            loginThrottle.recordFailure(authRequest.getUsername(), clientIp);
             throw new BadCredentialsException("Invalid username or password", e);
-        } catch (UsernameNotFoundException e) {
-            throw new BadCredentialsException("Invalid username or password");
         } catch (Exception e) {
             throw new BadCredentialsException("Authentication failed");
         }
@@ -142,16 +150,14 @@ public class AuthController {
                     required = true
             )
             @Valid @RequestBody UserCreateDTO userCreateDTO) {
-        // Create new user
+        // Create new user; duplicates surface from the unique constraints as 409
         UserResponseDTO user = userService.createUser(userCreateDTO);
 
-        // Load user details for JWT generation
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
-
-        // Generate JWT token
-        final String jwt = jwtUtil.generateToken(userDetails);
+        // Generate JWT token from the inserted row, no reload needed
+        final String jwt = jwtUtil.generateToken(user.getUsername(), user.getId(), user.getRole());
+        final String refreshToken = refreshTokenService.issueToken(user.getId());
 
-        return ResponseEntity.ok(new AuthResponse(jwt, user));
+        return ResponseEntity.ok(new AuthResponse(jwt, refreshToken, user));
     }
 
     @Operation(
@@ -185,14 +191,15 @@ public class AuthController {
 
         try {
             String token = authHeader.substring(7); // Remove "Bearer " prefix
-            String username = jwtUtil.extractUsername(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            ParsedToken parsedToken = jwtUtil.parseToken(token);
+            UserDetails userDetails = userDetailsService.loadUserByUsername(parsedToken.getSubject());
 
-            boolean isValid = jwtUtil.validateToken(token, userDetails);
+            boolean isValid = jwtUtil.validateToken(parsedToken, userDetails)
+                    && !revocationStore.isRevoked(parsedToken);
 
             response.put("valid", isValid);
-            response.put("username", username);
-            response.put("expiresAt", jwtUtil.extractExpiration(token));
+            response.put("username", parsedToken.getSubject());
+            response.put("expiresAt", parsedToken.getExpiration());
 
             return ResponseEntity.ok(response);
 
@@ -203,9 +210,31 @@ public class AuthController {
         }
     }
 
+    @Operation(
+            summary = "Validate JWT tokens in bulk",
+            description = "Validates up to jwt.validation.batch-max-tokens tokens (100 by default) in one call and returns validity, username, role and expiration for each, in request order. Intended for gateways that would otherwise call /validate per request."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Validation completed - One result per submitted token",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad Request - Empty batch or more tokens than allowed"
+            )
+    })
+    @PostMapping("/validate/batch")
+    public ResponseEntity<List<TokenValidationResult>> validateTokens(
+            @Parameter(description = "Tokens to validate, without the Bearer prefix", required = true)
+            @Valid @RequestBody TokenValidationBatchRequest batchRequest) {
+        return ResponseEntity.ok(authService.validateTokens(batchRequest.getTokens()));
+    }
+
     @Operation(
             summary = "Refresh JWT token",
-            description = "Generates a new JWT token using a valid existing token. Extends the user's session without requiring re-authentication.",
+            description = "Exchanges a refresh token for a new access token and a rotated refresh token. Each refresh token can be used once; reusing one revokes every token issued from the same login. Clients without a refresh token may still send a valid access token in the Authorization header.",
             security = @SecurityRequirement(name = "Bearer Authentication")
     )
     @ApiResponses(value = {
@@ -223,7 +252,7 @@ public class AuthController {
             ),
             @ApiResponse(
                     responseCode = "401",
-                    description = "Unauthorized - Token is expired, invalid, or user no longer exists"
+                    description = "Unauthorized - Token is expired, invalid, reused, or user no longer exists"
             ),
             @ApiResponse(
                     responseCode = "403",
@@ -232,20 +261,26 @@ public class AuthController {
     })
     @PostMapping("/refresh")
     public ResponseEntity<AuthResponse> refreshToken(
+            @Parameter(description = "Refresh token issued at login, registration or the previous refresh")
+            @RequestBody(required = false) RefreshTokenRequest refreshRequest,
             @Parameter(
-                    description = "Authorization header with Bearer token to be refreshed",
-                    required = true,
+                    description = "Authorization header with Bearer token to be refreshed (legacy, used when no refresh token is sent)",
                     example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
             )
-            @RequestHeader("Authorization") String authHeader) {
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        // One indexed lookup plus one signature; no access-token parsing or user reload
+        if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+            return ResponseEntity.ok(refreshTokenService.rotate(refreshRequest.getRefreshToken()));
+        }
+
         try {
             String token = authHeader.substring(7); // Remove "Bearer " prefix
-            String username = jwtUtil.extractUsername(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            ParsedToken parsedToken = jwtUtil.parseToken(token);
+            UserDetails userDetails = userDetailsService.loadUserByUsername(parsedToken.getSubject());
 
-            if (jwtUtil.validateToken(token, userDetails)) {
-                String newToken = jwtUtil.generateToken(userDetails);
-                UserResponseDTO user = userService.getUserByUsername(username);
+            if (jwtUtil.validateToken(parsedToken, userDetails) && !revocationStore.isRevoked(parsedToken)) {
+                UserResponseDTO user = userService.getUserByUsername(parsedToken.getSubject());
+                String newToken = jwtUtil.generateToken(user.getUsername(), user.getId(), user.getRole());
 
                 return ResponseEntity.ok(new AuthResponse(newToken, user));
             } else {
@@ -283,12 +318,19 @@ public class AuthController {
                     required = true,
                     example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
             )
-            @RequestHeader("Authorization") String authHeader) {
+            @RequestHeader("Authorization") String authHeader,
+            @Parameter(description = "Refresh token to revoke together with the access token")
+            @RequestBody(required = false) RefreshTokenRequest refreshRequest) {
         try {
             String token = authHeader.substring(7); // Remove "Bearer " prefix
 
-            // Add token to blacklist (implement this in your security service)
-            // tokenBlacklistService.blacklistToken(token);
+            // Revoke the token until it expires
+            revocationStore.revoke(jwtUtil.parseToken(token));
+
+            // Revoke the whole refresh token family so the session cannot be renewed
+            if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+                refreshTokenService.revoke(refreshRequest.getRefreshToken());
+            }
 
             Map<String, String> response = new HashMap<>();
             response.put("message", "Successfully logged out");
@@ -332,8 +374,11 @@ public class AuthController {
             @RequestHeader("Authorization") String authHeader) {
         try {
             String token = authHeader.substring(7); // Remove "Bearer " prefix
-            String username = jwtUtil.extractUsername(token);
-            UserResponseDTO user = userService.getUserByUsername(username);
+            ParsedToken parsedToken = jwtUtil.parseToken(token);
+            if (revocationStore.isRevoked(parsedToken)) {
+                throw new BadCredentialsException("Token has been revoked");
+            }
+            UserResponseDTO user = userService.getUserByUsername(parsedToken.getSubject());
 
             return ResponseEntity.ok(user);
 
@@ -1,20 +1,37 @@
 package com.enterprise.user_management.controller;
 
+import com.enterprise.user_management.dto.ScrollResponse;
+import com.enterprise.user_management.dto.UserBulkUpdateRequest;
+import com.enterprise.user_management.dto.UserBulkUpdateResponse;
 import com.enterprise.user_management.dto.UserCreateDTO;
+import com.enterprise.user_management.dto.UserImportResult;
+import com.enterprise.user_management.dto.UserImportSummary;
 import com.enterprise.user_management.dto.UserResponseDTO;
 import com.enterprise.user_management.dto.UserUpdateDTO;
 import com.enterprise.user_management.enums.UserRole;
+import com.enterprise.user_management.exception.BadRequestException;
+import com.enterprise.user_management.importer.ImportFormat;
+import com.enterprise.user_management.importer.UserImportReader;
+import com.enterprise.user_management.pagination.UserSortField;
+import com.enterprise.user_management.service.UserBulkUpdateService;
+import com.enterprise.user_management.service.UserImportService;
 import com.enterprise.user_management.service.UserService;
 import com.enterprise.user_management.dto.PasswordChangeRequest;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.security.access.prepost.PreAuthorize;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -25,6 +42,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,9 +54,20 @@ import java.util.Map;
 @Tag(name = "User Management", description = "Comprehensive user CRUD operations, role management, and administrative functions")
 public class UserController {
 
+    private static final int MAX_SCROLL_SIZE = 1000;
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserBulkUpdateService userBulkUpdateService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Operation(
             summary = "Create new user",
             description = "Creates a new user account with the provided information. Email and username must be unique."
@@ -67,7 +97,8 @@ public class UserController {
 
     @Operation(
             summary = "Get all users with pagination",
-            description = "Retrieves a paginated list of all users with sorting support. Supports sorting by any user field.",
+            description = "Retrieves a page of users with sorting by id, username, email or createdAt. The total count is only " +
+                    "computed when includeTotal=true; nextCursor continues the same order on /api/users/scroll.",
             security = @SecurityRequirement(name = "Bearer Authentication")
     )
     @ApiResponses(value = {
@@ -76,6 +107,10 @@ public class UserController {
                     description = "Successfully retrieved users",
                     content = @Content(mediaType = "application/json")
             ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Unsupported sort field"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Unauthorized - Invalid or missing JWT token"
@@ -86,21 +121,62 @@ public class UserController {
             )
     })
     @GetMapping
-    public ResponseEntity<Page<UserResponseDTO>> getAllUsers(
+    public ResponseEntity<ScrollResponse<UserResponseDTO>> getAllUsers(
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page", example = "10")
             @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "Field to sort by", example = "username")
+            @Parameter(description = "Field to sort by", schema = @Schema(allowableValues = {"id", "username", "email", "createdAt"}))
             @RequestParam(defaultValue = "id") String sortBy,
             @Parameter(description = "Sort direction", schema = @Schema(allowableValues = {"asc", "desc"}))
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Also count all users (runs an extra COUNT query)", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
 
-        Sort sort = sortDir.equalsIgnoreCase("desc") ?
-                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        Sort sort = UserSortField.fromProperty(sortBy).sort(toDirection(sortDir));
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<UserResponseDTO> users = userService.getAllUsers(pageable);
+        ScrollResponse<UserResponseDTO> users = userService.getAllUsers(pageable, includeTotal);
+        return ResponseEntity.ok(users);
+    }
+
+    @Operation(
+            summary = "Scroll through users with a cursor",
+            description = "Keyset pagination over all users. Pass the returned nextCursor, with the same sortBy and sortDir, " +
+                    "to fetch the following page; every page costs the same regardless of depth.",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved users",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ScrollResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Unsupported sort field, invalid size, or a cursor that is malformed or issued for another sort"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Invalid or missing JWT token"
+            )
+    })
+    @GetMapping("/scroll")
+    public ResponseEntity<ScrollResponse<UserResponseDTO>> scrollUsers(
+            @Parameter(description = "Continuation token from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page", example = "100")
+            @RequestParam(defaultValue = "100") int size,
+            @Parameter(description = "Field to sort by", schema = @Schema(allowableValues = {"id", "username", "email", "createdAt"}))
+            @RequestParam(defaultValue = "id") String sortBy,
+            @Parameter(description = "Sort direction", schema = @Schema(allowableValues = {"asc", "desc"}))
+            @RequestParam(defaultValue = "asc") String sortDir) {
+
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new BadRequestException("Size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+        ScrollResponse<UserResponseDTO> users = userService.scrollUsers(
+                UserSortField.fromProperty(sortBy), toDirection(sortDir), cursor, size);
         return ResponseEntity.ok(users);
     }
 
@@ -126,6 +202,104 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @Operation(
+            summary = "Export all users as NDJSON",
+            description = "Streams every user as newline-delimited JSON, one object per line, ordered by id. " +
+                    "Selected with Accept: application/x-ndjson; memory use does not grow with the number of users.",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Users streamed successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Invalid or missing JWT token"
+            )
+    })
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllUsers() {
+        // Rows are written as they are read; the response is only flushed when its buffer fills
+        ObjectWriter writer = objectMapper.writerFor(UserResponseDTO.class)
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = writer.createGenerator(outputStream)) {
+                userService.streamAllUsers(user -> {
+                    try {
+                        writer.writeValue(generator, user);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Bulk import users",
+            description = "Imports users from a streamed upload: CSV with a header line " +
+                    "(username,email,password,firstName,lastName,phone,role) or NDJSON with one user object per line. " +
+                    "Rows are validated, checked for duplicates and inserted in batches; the response streams one " +
+                    "NDJSON result per row (ACCEPTED with the new id, or REJECTED with the reason) followed by a " +
+                    "summary line. Requires ADMIN role.",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import processed; see the per-row report",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request - missing or unknown CSV header columns"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - ADMIN role required"
+            )
+    })
+    @PostMapping(value = "/import",
+            consumes = {ImportFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> importUsers(HttpServletRequest request) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(MediaType.parseMediaType(request.getContentType()));
+        UserImportReader reader = UserImportReader.open(request.getInputStream(), format, objectMapper);
+
+        // The report is flushed after every committed chunk, so clients can follow progress
+        ObjectWriter writer = objectMapper.writer()
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (reader; JsonGenerator generator = writer.createGenerator(outputStream)) {
+                UserImportSummary summary = userImportService.importUsers(reader, results -> {
+                    try {
+                        for (UserImportResult result : results) {
+                            writer.writeValue(generator, result);
+                            generator.writeRaw('\n');
+                        }
+                        generator.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.writeValue(generator, summary);
+                generator.writeRaw('\n');
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @Operation(
             summary = "Get user by ID",
             description = "Retrieves a specific user by their unique identifier",
@@ -319,6 +493,90 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Bulk activate users",
+            description = "Activates every user selected by an id list or a filter (role, active, search), in chunks of one UPDATE each. Requires ADMIN role.",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Update applied; returns matched and affected user counts",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserBulkUpdateResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request - neither or both of ids and filter given"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - ADMIN role required"
+            )
+    })
+    @PatchMapping("/bulk/activate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserBulkUpdateResponse> bulkActivateUsers(
+            @Parameter(description = "Users to activate", required = true)
+            @Valid @RequestBody UserBulkUpdateRequest request) {
+        return ResponseEntity.ok(userBulkUpdateService.setActive(request, true));
+    }
+
+    @Operation(
+            summary = "Bulk deactivate users",
+            description = "Deactivates every user selected by an id list or a filter (role, active, search), in chunks of one UPDATE each. Requires ADMIN role.",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Update applied; returns matched and affected user counts",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserBulkUpdateResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request - neither or both of ids and filter given"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - ADMIN role required"
+            )
+    })
+    @PatchMapping("/bulk/deactivate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserBulkUpdateResponse> bulkDeactivateUsers(
+            @Parameter(description = "Users to deactivate", required = true)
+            @Valid @RequestBody UserBulkUpdateRequest request) {
+        return ResponseEntity.ok(userBulkUpdateService.setActive(request, false));
+    }
+
+    @Operation(
+            summary = "Bulk change user role",
+            description = "Assigns the given role to every user selected by an id list or a filter (role, active, search), in chunks of one UPDATE each. Requires ADMIN role.",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Update applied; returns matched and affected user counts",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserBulkUpdateResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request - neither or both of ids and filter given"
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - ADMIN role required"
+            )
+    })
+    @PatchMapping("/bulk/role")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserBulkUpdateResponse> bulkChangeRole(
+            @Parameter(description = "Users to change and the new role", required = true)
+            @Valid @RequestBody UserBulkUpdateRequest request) {
+        return ResponseEntity.ok(userBulkUpdateService.changeRole(request));
+    }
+
     @Operation(
             summary = "Get users by role",
             description = "Retrieves all users that have a specific role assigned",
@@ -354,7 +612,8 @@ public class UserController {
 
     @Operation(
             summary = "Search users",
-            description = "Searches users by username, email, first name, or last name with pagination support",
+            description = "Searches users by username, email, first name, or last name with pagination support. " +
+                    "The total match count is only computed when includeTotal=true.",
             security = @SecurityRequirement(name = "Bearer Authentication")
     )
     @ApiResponses(value = {
@@ -373,16 +632,18 @@ public class UserController {
             )
     })
     @GetMapping("/search")
-    public ResponseEntity<Page<UserResponseDTO>> searchUsers(
+    public ResponseEntity<ScrollResponse<UserResponseDTO>> searchUsers(
             @Parameter(description = "Search query (searches in username, email, first name, last name)", required = true, example = "john")
             @RequestParam String query,
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Also count all matches", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<UserResponseDTO> users = userService.searchUsers(query, pageable);
+        ScrollResponse<UserResponseDTO> users = userService.searchUsers(query, pageable, includeTotal);
         return ResponseEntity.ok(users);
     }
 
@@ -477,4 +738,8 @@ public class UserController {
         response.put("message", "Password changed successfully");
         return ResponseEntity.ok(response);
     }
+
+    private static Sort.Direction toDirection(String sortDir) {
+        return sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.enterprise.user_management.controller;
+
+import com.enterprise.user_management.export.ExportFormat;
+import com.enterprise.user_management.export.UserExportJob;
+import com.enterprise.user_management.service.UserExportJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/users/exports")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "User Export", description = "Background full exports of the user table to compressed part files (ADMIN only)")
+public class UserExportController {
+
+    @Autowired
+    private UserExportJobService userExportJobService;
+
+    @Operation(
+            summary = "Start a full user export",
+            description = "Plans an export over id ranges and runs the ranges in parallel in the background, each to a " +
+                    "gzip-compressed CSV or NDJSON part file. Poll the returned job for progress.",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Export started",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserExportJob.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - ADMIN role required"
+            )
+    })
+    @PostMapping
+    public ResponseEntity<UserExportJob> startExport(
+            @Parameter(description = "Part file format", example = "CSV")
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(userExportJobService.startExport(format));
+    }
+
+    @Operation(
+            summary = "Get export progress",
+            description = "Returns the job with the state, row count and file of every part",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Export found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserExportJob.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Export not found"
+            )
+    })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<UserExportJob> getExport(
+            @Parameter(description = "Export job ID", required = true)
+            @PathVariable String jobId) {
+        return ResponseEntity.ok(userExportJobService.getExport(jobId));
+    }
+
+    @Operation(
+            summary = "Resume an export",
+            description = "Re-runs every part that is not finished, e.g. after a failure or an application restart",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Export resumed",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserExportJob.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Export is still running"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Export not found"
+            )
+    })
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<UserExportJob> resumeExport(
+            @Parameter(description = "Export job ID", required = true)
+            @PathVariable String jobId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(userExportJobService.resumeExport(jobId));
+    }
+
+    @Operation(
+            summary = "Download an export part",
+            description = "Returns a finished part file as gzip",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Part file",
+                    content = @Content(mediaType = "application/gzip")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Export or finished part not found"
+            )
+    })
+    @GetMapping("/{jobId}/parts/{partIndex}")
+    public ResponseEntity<Resource> downloadPart(
+            @Parameter(description = "Export job ID", required = true)
+            @PathVariable String jobId,
+            @Parameter(description = "Part index, starting at 1", required = true)
+            @PathVariable int partIndex) {
+        Path file = userExportJobService.getPartFile(jobId, partIndex);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
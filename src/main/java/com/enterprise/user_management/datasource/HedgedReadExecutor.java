@@ -0,0 +1,267 @@
+package com.enterprise.user_management.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Single-row reads against the replicas with hedging: when the first pool has not answered within the
+// configured percentile of recent read latency, the same query goes to the next pool, the first answer
+// wins and the other statement is cancelled. Costs a few percent extra queries to cut the slow-replica tail.
+public class HedgedReadExecutor {
+
+    private static final SQLStateSQLExceptionTranslator exceptionTranslator = new SQLStateSQLExceptionTranslator();
+
+    // Re-reading the percentile copies the histogram, so the delay is refreshed at most this often
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final int queryTimeoutSeconds;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer latency;
+    private final Counter unhedgedReads;
+    private final Counter hedgedReads;
+    private final Counter firstWins;
+    private final Counter hedgeWins;
+
+    private volatile long delayNanos;
+    private volatile long delayRefreshedAt;
+
+    public HedgedReadExecutor(ReplicaRoutingDataSource routingDataSource, boolean enabled, double percentile,
+                              Duration minDelay, Duration maxDelay, Duration queryTimeout, int poolSize,
+                              MeterRegistry meterRegistry) {
+        this.routingDataSource = routingDataSource;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.queryTimeoutSeconds = (int) Math.max(1, queryTimeout.toSeconds());
+        this.delayNanos = maxDelayNanos;
+        this.delayRefreshedAt = System.nanoTime();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "hedged-read-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.latency = Timer.builder("users.datasource.hedge.latency")
+                .description("Latency of single-row reads that completed, per attempt")
+                .publishPercentiles(percentile)
+                .register(meterRegistry);
+        this.unhedgedReads = hedgeRequests(meterRegistry, false);
+        this.hedgedReads = hedgeRequests(meterRegistry, true);
+        this.firstWins = hedgeWins(meterRegistry, "first");
+        this.hedgeWins = hedgeWins(meterRegistry, "hedge");
+        Gauge.builder("users.datasource.hedge.delay", this, hedging -> hedging.delayNanos / 1_000_000.0)
+                .description("Milliseconds a read waits for the first pool before hedging")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    private static Counter hedgeRequests(MeterRegistry meterRegistry, boolean hedged) {
+        return Counter.builder("users.datasource.hedge.reads")
+                .description("Single-row reads, by whether a hedge was sent")
+                .tag("hedged", String.valueOf(hedged))
+                .register(meterRegistry);
+    }
+
+    private static Counter hedgeWins(MeterRegistry meterRegistry, String winner) {
+        return Counter.builder("users.datasource.hedge.wins")
+                .description("Hedged reads, by which attempt answered first")
+                .tag("winner", winner)
+                .register(meterRegistry);
+    }
+
+    // Hedging only pays off with replicas to spread the reads over
+    public boolean isEnabled() {
+        return enabled && routingDataSource.hasReplicas();
+    }
+
+    public <T> Optional<T> queryForOptional(String sql, RowMapper<T> rowMapper, Object... args) {
+        List<DataSource> targets = routingDataSource.readTargets();
+        Attempt<T> first = new Attempt<>(targets.get(0), sql, rowMapper, args);
+        if (targets.size() < 2) {
+            return first.run();
+        }
+
+        CompletableFuture<Optional<T>> firstResult;
+        try {
+            firstResult = CompletableFuture.supplyAsync(first::run, executor);
+        } catch (RejectedExecutionException e) {
+            // Every hedging thread is busy; read on the caller's thread rather than queue behind them
+            unhedgedReads.increment();
+            return first.run();
+        }
+
+        try {
+            Optional<T> result = firstResult.get(hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+            unhedgedReads.increment();
+            return result;
+        } catch (TimeoutException | ExecutionException e) {
+            // Slow, or failed outright: either way the next pool gets the query now
+        } catch (InterruptedException e) {
+            first.cancel();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a read");
+        }
+
+        hedgedReads.increment();
+        Attempt<T> hedge = new Attempt<>(targets.get(1), sql, rowMapper, args);
+        CompletableFuture<Optional<T>> hedgeResult;
+        try {
+            hedgeResult = CompletableFuture.supplyAsync(hedge::run, executor);
+        } catch (RejectedExecutionException e) {
+            hedgeResult = CompletableFuture.completedFuture(hedge.run());
+        }
+        return firstAnswer(first, firstResult, hedge, hedgeResult);
+    }
+
+    private <T> Optional<T> firstAnswer(Attempt<T> first, CompletableFuture<Optional<T>> firstResult,
+                                        Attempt<T> hedge, CompletableFuture<Optional<T>> hedgeResult) {
+        CompletableFuture<Answer<T>> answer = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        firstResult.whenComplete((result, error) -> {
+            if (error == null) {
+                if (answer.complete(new Answer<>(result, false))) {
+                    hedge.cancel();
+                }
+            } else if (failures.incrementAndGet() == 2) {
+                answer.completeExceptionally(error);
+            }
+        });
+        hedgeResult.whenComplete((result, error) -> {
+            if (error == null) {
+                if (answer.complete(new Answer<>(result, true))) {
+                    first.cancel();
+                }
+            } else if (failures.incrementAndGet() == 2) {
+                answer.completeExceptionally(error);
+            }
+        });
+
+        try {
+            Answer<T> winner = answer.get();
+            (winner.fromHedge() ? hedgeWins : firstWins).increment();
+            return winner.result();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            first.cancel();
+            hedge.cancel();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a read");
+        }
+    }
+
+    long hedgeDelayNanos() {
+        long now = System.nanoTime();
+        if (now - delayRefreshedAt < DELAY_REFRESH_NANOS) {
+            return delayNanos;
+        }
+        delayRefreshedAt = now;
+        // Until there are samples the percentile reads as zero; the upper bound keeps hedges rare then
+        long observed = maxDelayNanos;
+        if (latency.count() > 0) {
+            for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+                if (value.percentile() == percentile) {
+                    observed = (long) value.value(TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+        delayNanos = Math.min(maxDelayNanos, Math.max(minDelayNanos, observed));
+        return delayNanos;
+    }
+
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private record Answer<T>(Optional<T> result, boolean fromHedge) {}
+
+    private class Attempt<T> {
+        private final DataSource dataSource;
+        private final String sql;
+        private final RowMapper<T> rowMapper;
+        private final Object[] args;
+        private volatile PreparedStatement statement;
+        private volatile boolean cancelled;
+
+        Attempt(DataSource dataSource, String sql, RowMapper<T> rowMapper, Object[] args) {
+            this.dataSource = dataSource;
+            this.sql = sql;
+            this.rowMapper = rowMapper;
+            this.args = args;
+        }
+
+        Optional<T> run() {
+            long start = System.nanoTime();
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement ps = connection.prepareStatement(sql)) {
+                statement = ps;
+                if (cancelled) {
+                    throw new CancellationException("Read was answered by another pool");
+                }
+                ps.setQueryTimeout(queryTimeoutSeconds);
+                for (int i = 0; i < args.length; i++) {
+                    ps.setObject(i + 1, args[i]);
+                }
+                try (ResultSet resultSet = ps.executeQuery()) {
+                    Optional<T> result = resultSet.next()
+                            ? Optional.ofNullable(rowMapper.mapRow(resultSet, 0))
+                            : Optional.empty();
+                    latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return result;
+                }
+            } catch (SQLException e) {
+                if (cancelled) {
+                    throw new CancellationException("Read was answered by another pool");
+                }
+                DataAccessException translated = exceptionTranslator.translate("Single-row read", sql, e);
+                throw translated != null ? translated : new IllegalStateException(e);
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            PreparedStatement running = statement;
+            if (running != null) {
+                try {
+                    running.cancel();
+                } catch (SQLException e) {
+                    // The statement finished or its connection closed in the meantime
+                }
+            }
+        }
+    }
+}
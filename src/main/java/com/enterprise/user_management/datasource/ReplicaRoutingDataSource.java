@@ -0,0 +1,247 @@
+package com.enterprise.user_management.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sends read-only transactions to a healthy replica, round robin, and everything else to the primary.
+// Routing happens when the transaction first needs a connection, so it must sit behind a
+// LazyConnectionDataSourceProxy: by then the transaction's read-only flag is known.
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    // Users whose own writes committed within the window; their reads stay on the primary until
+    // the replicas have caught up. Held per instance, like the rest of the in-memory state.
+    private final Cache<String, Boolean> recentWriters;
+
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter failovers;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration readYourWritesWindow, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(100_000)
+                .build();
+
+        primaryRoutes = routes(meterRegistry, "primary");
+        replicaRoutes = routes(meterRegistry, "replica");
+        failovers = Counter.builder("users.datasource.replica.failovers")
+                .description("Replica connections that failed and were served by another pool")
+                .register(meterRegistry);
+        Gauge.builder("users.datasource.replicas.healthy", this, ReplicaRoutingDataSource::healthyReplicas)
+                .register(meterRegistry);
+        checkReplicas();
+    }
+
+    private static Counter routes(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("users.datasource.routes")
+                .description("Transaction connections by the pool they were routed to")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    // Explicit credentials are passed through to whichever pool the transaction is routed to
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (!routeToReplica()) {
+            recordWriter();
+            primaryRoutes.increment();
+            return opener.open(primary);
+        }
+
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = nextHealthyReplica();
+            if (replica == null) {
+                break;
+            }
+            try {
+                Connection connection = opener.open(replica.dataSource);
+                stopSecondLevelCachePuts();
+                replicaRoutes.increment();
+                return connection;
+            } catch (SQLException e) {
+                markDown(replica, e);
+                failovers.increment();
+            }
+        }
+        primaryRoutes.increment();
+        return opener.open(primary);
+    }
+
+    // Replicas marked down by a failed connection come back once they answer a validation check
+    @Scheduled(fixedDelayString = "${users.datasource.replica-health-check-interval:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(1)) {
+                    throw new SQLException("Connection validation failed");
+                }
+                if (!replica.healthy) {
+                    log.info("Read replica {} is available again", replica.name);
+                }
+                replica.healthy = true;
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    // The replica pools belong to this data source; the primary is a bean of its own
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    // Pools a hedged read may use, in the order to try them: the healthy replicas starting at the
+    // next in rotation, then the primary. Only the primary while the user's own writes may be unreplicated.
+    public List<DataSource> readTargets() {
+        if (replicas.isEmpty() || inReadYourWritesWindow()) {
+            return List.of(primary);
+        }
+        List<DataSource> targets = new ArrayList<>(replicas.size() + 1);
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                targets.add(replica.dataSource);
+            }
+        }
+        targets.add(primary);
+        return targets;
+    }
+
+    private boolean routeToReplica() {
+        return !replicas.isEmpty()
+                && TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !inReadYourWritesWindow();
+    }
+
+    private boolean inReadYourWritesWindow() {
+        String user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    private Replica nextHealthyReplica() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void markDown(Replica replica, SQLException e) {
+        if (replica.healthy) {
+            log.warn("Read replica {} is unavailable, routing its reads elsewhere: {}", replica.name, e.getMessage());
+        }
+        replica.healthy = false;
+    }
+
+    // Opens the read-your-writes window once a read-write transaction commits
+    private void recordWriter() {
+        if (replicas.isEmpty()
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        String user = currentUser();
+        if (user != null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.put(user, Boolean.TRUE);
+                }
+            });
+        }
+    }
+
+    // An entity read from a lagging replica must not land in the shared second-level cache,
+    // where the stale copy would outlive the lag until it expires
+    private static void stopSecondLevelCachePuts() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.enterprise.user_management.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class AuthResponse {
     private String token;
     private String type = "Bearer";
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String refreshToken;
+
     private UserResponseDTO user;
 
     public AuthResponse(String token, UserResponseDTO user) {
@@ -10,6 +16,12 @@ public class AuthResponse {
         this.user = user;
     }
 
+    public AuthResponse(String token, String refreshToken, UserResponseDTO user) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.user = user;
+    }
+
     // Getters and Setters
     public String getToken() { return token; }
     public void setToken(String token) { this.token = token; }
@@ -17,6 +29,9 @@ public class AuthResponse {
     public String getType() { return type; }
     public void setType(String type) { this.type = type; }
 
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+
     public UserResponseDTO getUser() { return user; }
     public void setUser(UserResponseDTO user) { this.user = user; }
 }
\ No newline at end of file
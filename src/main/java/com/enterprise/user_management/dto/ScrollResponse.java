@@ -0,0 +1,41 @@
+package com.enterprise.user_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// totalElements is present only when the client asked for a count
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScrollResponse<T> {
+    private List<T> content;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long totalElements;
+
+    // Constructors
+    public ScrollResponse() {}
+
+    public ScrollResponse(List<T> content, boolean hasNext, String nextCursor) {
+        this(content, hasNext, nextCursor, null);
+    }
+
+    public ScrollResponse(List<T> content, boolean hasNext, String nextCursor, Long totalElements) {
+        this.content = content;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+        this.totalElements = totalElements;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public Long getTotalElements() { return totalElements; }
+    public void setTotalElements(Long totalElements) { this.totalElements = totalElements; }
+}
@@ -0,0 +1,23 @@
+package com.enterprise.user_management.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+// The batch size limit is jwt.validation.batch-max-tokens, checked by AuthService.validateTokens
+public class TokenValidationBatchRequest {
+
+    @NotEmpty(message = "At least one token is required")
+    private List<String> tokens;
+
+    // Constructors
+    public TokenValidationBatchRequest() {}
+
+    public TokenValidationBatchRequest(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    // Getters and Setters
+    public List<String> getTokens() { return tokens; }
+    public void setTokens(List<String> tokens) { this.tokens = tokens; }
+}
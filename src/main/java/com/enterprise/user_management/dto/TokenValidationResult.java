@@ -0,0 +1,50 @@
+package com.enterprise.user_management.dto;
+
+import com.enterprise.user_management.enums.UserRole;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Date;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenValidationResult {
+    private boolean valid;
+    private String username;
+    private UserRole role;
+    private Date expiresAt;
+    private String error;
+
+    // Constructors
+    public TokenValidationResult() {}
+
+    public static TokenValidationResult valid(String username, UserRole role, Date expiresAt) {
+        TokenValidationResult result = new TokenValidationResult();
+        result.valid = true;
+        result.username = username;
+        result.role = role;
+        result.expiresAt = expiresAt;
+        return result;
+    }
+
+    public static TokenValidationResult invalid(String error) {
+        TokenValidationResult result = new TokenValidationResult();
+        result.valid = false;
+        result.error = error;
+        return result;
+    }
+
+    // Getters and Setters
+    public boolean isValid() { return valid; }
+    public void setValid(boolean valid) { this.valid = valid; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public UserRole getRole() { return role; }
+    public void setRole(UserRole role) { this.role = role; }
+
+    public Date getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Date expiresAt) { this.expiresAt = expiresAt; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,13 @@
+package com.enterprise.user_management.dto;
+
+import com.enterprise.user_management.enums.UserRole;
+import com.enterprise.user_management.stats.UserCounters;
+
+// The columns a bulk update needs before it runs: the id to update, the username to evict from
+// the user details cache, and the state the live counters are adjusted from
+public record UserBulkTarget(Long id, String username, UserRole role, Boolean active) {
+
+    public UserCounters.CountedState countedState() {
+        return new UserCounters.CountedState(role, Boolean.TRUE.equals(active));
+    }
+}
@@ -0,0 +1,70 @@
+package com.enterprise.user_management.dto;
+
+import com.enterprise.user_management.enums.UserRole;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+// Selects users either by id or by filter, never both. `role` is the new role for a role change.
+public class UserBulkUpdateRequest {
+
+    @Size(max = 100000, message = "At most 100000 ids per request")
+    private List<Long> ids;
+
+    @Valid
+    private Filter filter;
+
+    private UserRole role;
+
+    // Constructors
+    public UserBulkUpdateRequest() {}
+
+    public UserBulkUpdateRequest(List<Long> ids, Filter filter, UserRole role) {
+        this.ids = ids;
+        this.filter = filter;
+        this.role = role;
+    }
+
+    // Getters and Setters
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public Filter getFilter() { return filter; }
+    public void setFilter(Filter filter) { this.filter = filter; }
+
+    public UserRole getRole() { return role; }
+    public void setRole(UserRole role) { this.role = role; }
+
+    // Criteria are combined with AND; `search` matches like GET /api/users/search
+    public static class Filter {
+        private UserRole role;
+        private Boolean active;
+
+        @Size(min = 1, max = 100, message = "Search term must be between 1 and 100 characters")
+        private String search;
+
+        // Constructors
+        public Filter() {}
+
+        public Filter(UserRole role, Boolean active, String search) {
+            this.role = role;
+            this.active = active;
+            this.search = search;
+        }
+
+        public boolean isEmpty() {
+            return role == null && active == null && search == null;
+        }
+
+        // Getters and Setters
+        public UserRole getRole() { return role; }
+        public void setRole(UserRole role) { this.role = role; }
+
+        public Boolean getActive() { return active; }
+        public void setActive(Boolean active) { this.active = active; }
+
+        public String getSearch() { return search; }
+        public void setSearch(String search) { this.search = search; }
+    }
+}
@@ -0,0 +1,22 @@
+package com.enterprise.user_management.dto;
+
+// `affected` counts only users whose state actually changed
+public class UserBulkUpdateResponse {
+    private long matched;
+    private long affected;
+
+    // Constructors
+    public UserBulkUpdateResponse() {}
+
+    public UserBulkUpdateResponse(long matched, long affected) {
+        this.matched = matched;
+        this.affected = affected;
+    }
+
+    // Getters and Setters
+    public long getMatched() { return matched; }
+    public void setMatched(long matched) { this.matched = matched; }
+
+    public long getAffected() { return affected; }
+    public void setAffected(long affected) { this.affected = affected; }
+}
@@ -0,0 +1,57 @@
+package com.enterprise.user_management.dto;
+
+import com.enterprise.user_management.entity.UserOutboxEvent;
+import com.enterprise.user_management.enums.UserEventType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+// What the outbox relay publishes. Delivery is at-least-once and may reorder concurrent changes,
+// so consumers de-duplicate on id and keep the snapshot with the latest user.updatedAt.
+public class UserChangeEvent {
+
+    private Long id;
+    private UserEventType type;
+    private Long userId;
+    private String username;
+    private Instant occurredAt;
+
+    @JsonRawValue
+    private String user;
+
+    // Constructors
+    public UserChangeEvent() {}
+
+    public UserChangeEvent(Long id, UserEventType type, Long userId, String username, Instant occurredAt, String user) {
+        this.id = id;
+        this.type = type;
+        this.userId = userId;
+        this.username = username;
+        this.occurredAt = occurredAt;
+        this.user = user;
+    }
+
+    public static UserChangeEvent fromEntity(UserOutboxEvent event) {
+        return new UserChangeEvent(event.getId(), event.getEventType(), event.getUserId(), event.getUsername(),
+                event.getCreatedAt(), event.getPayload());
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public UserEventType getType() { return type; }
+    public void setType(UserEventType type) { this.type = type; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public Instant getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(Instant occurredAt) { this.occurredAt = occurredAt; }
+
+    public String getUser() { return user; }
+    public void setUser(String user) { this.user = user; }
+}
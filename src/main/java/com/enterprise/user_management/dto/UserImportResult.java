@@ -0,0 +1,53 @@
+package com.enterprise.user_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// One line of the import report; `line` is the physical line of the uploaded file
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResult {
+
+    public enum Status { ACCEPTED, REJECTED }
+
+    private long line;
+    private Status status;
+    private String username;
+    private Long id;
+    private String error;
+
+    // Constructors
+    public UserImportResult() {}
+
+    public static UserImportResult accepted(long line, String username, Long id) {
+        UserImportResult result = new UserImportResult();
+        result.line = line;
+        result.status = Status.ACCEPTED;
+        result.username = username;
+        result.id = id;
+        return result;
+    }
+
+    public static UserImportResult rejected(long line, String username, String error) {
+        UserImportResult result = new UserImportResult();
+        result.line = line;
+        result.status = Status.REJECTED;
+        result.username = username;
+        result.error = error;
+        return result;
+    }
+
+    // Getters and Setters
+    public long getLine() { return line; }
+    public void setLine(long line) { this.line = line; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,24 @@
+package com.enterprise.user_management.dto;
+
+// Final line of the import report
+public class UserImportSummary {
+    private long accepted;
+    private long rejected;
+
+    // Constructors
+    public UserImportSummary() {}
+
+    public UserImportSummary(long accepted, long rejected) {
+        this.accepted = accepted;
+        this.rejected = rejected;
+    }
+
+    // Getters and Setters
+    public long getAccepted() { return accepted; }
+    public void setAccepted(long accepted) { this.accepted = accepted; }
+
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+
+    public long getTotal() { return accepted + rejected; }
+}
@@ -1,5 +1,6 @@
 package com.enterprise.user_management.dto;
 
+import com.enterprise.user_management.entity.User;
 import com.enterprise.user_management.enums.UserRole;
 import java.time.LocalDateTime;
 
@@ -34,6 +35,21 @@ public class UserResponseDTO {
         this.updatedAt = updatedAt;
     }
 
+    public static UserResponseDTO fromEntity(User user) {
+        return new UserResponseDTO(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getPhone(),
+                user.getRole(),
+                user.getActive(),
+                user.getCreatedAt(),
+                user.getUpdatedAt()
+        );
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
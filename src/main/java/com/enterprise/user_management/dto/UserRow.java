@@ -0,0 +1,15 @@
+package com.enterprise.user_management.dto;
+
+import com.enterprise.user_management.enums.UserRole;
+
+import java.time.LocalDateTime;
+
+// Record projection for derived queries (keyset scrolling), which cannot use a JPQL constructor
+// expression; Spring Data selects exactly these columns from the canonical constructor
+public record UserRow(Long id, String username, String email, String firstName, String lastName, String phone,
+                      UserRole role, Boolean active, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    public UserResponseDTO toResponseDTO() {
+        return new UserResponseDTO(id, username, email, firstName, lastName, phone, role, active, createdAt, updatedAt);
+    }
+}
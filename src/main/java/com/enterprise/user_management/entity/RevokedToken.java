@@ -0,0 +1,34 @@
+package com.enterprise.user_management.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expiresAt")
+})
+public class RevokedToken {
+
+    @Id
+    @Column(length = 64)
+    private String tokenId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    // Constructors
+    public RevokedToken() {}
+
+    public RevokedToken(String tokenId, Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getTokenId() { return tokenId; }
+    public void setTokenId(String tokenId) { this.tokenId = tokenId; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,65 @@
+package com.enterprise.user_management.entity;
+
+import com.enterprise.user_management.enums.UserEventType;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+// A user change written in the same transaction as the change itself; UserOutboxRelay publishes
+// and then deletes it. No foreign key to users, so a DELETED event outlives its user.
+@Entity
+@Table(name = "user_outbox")
+public class UserOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private UserEventType eventType;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 50)
+    private String username;
+
+    // The user as UserResponseDTO JSON, as of the change
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Constructors
+    public UserOutboxEvent() {}
+
+    public UserOutboxEvent(UserEventType eventType, Long userId, String username, String payload) {
+        this.eventType = eventType;
+        this.userId = userId;
+        this.username = username;
+        this.payload = payload;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public UserEventType getEventType() { return eventType; }
+    public void setEventType(UserEventType eventType) { this.eventType = eventType; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,10 @@
+package com.enterprise.user_management.enums;
+
+public enum UserEventType {
+    CREATED,
+    UPDATED,
+    ACTIVATED,
+    DEACTIVATED,
+    PASSWORD_CHANGED,
+    DELETED
+}
@@ -0,0 +1,16 @@
+package com.enterprise.user_management.export;
+
+public enum ExportFormat {
+    CSV("csv"),
+    NDJSON("ndjson");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String partFileName(int index) {
+        return String.format("part-%05d.%s.gz", index, extension);
+    }
+}
@@ -0,0 +1,118 @@
+package com.enterprise.user_management.export;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// An export job and its manifest: the job is written to manifest.json in its directory after every
+// part, so a restarted or failed job can be resumed by re-running only the parts not yet DONE.
+// Parts are updated from the export pool's workers, so all changes go through `lock`.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(value = {"partsDone", "rowsExported"}, allowGetters = true)
+public class UserExportJob {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    private String id;
+    private ExportFormat format;
+    private Status status;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+    private List<Part> parts = new ArrayList<>();
+
+    @JsonIgnore
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Constructors
+    public UserExportJob() {}
+
+    public UserExportJob(String id, ExportFormat format, List<Part> parts) {
+        this.id = id;
+        this.format = format;
+        this.status = Status.RUNNING;
+        this.createdAt = LocalDateTime.now();
+        this.parts = parts;
+    }
+
+    // Progress, derived from the parts
+    public long getPartsDone() {
+        return parts.stream().filter(part -> part.getStatus() == Part.Status.DONE).count();
+    }
+
+    public long getRowsExported() {
+        return parts.stream().filter(part -> part.getStatus() == Part.Status.DONE).mapToLong(Part::getRows).sum();
+    }
+
+    @JsonIgnore
+    public ReentrantLock getLock() { return lock; }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public ExportFormat getFormat() { return format; }
+    public void setFormat(ExportFormat format) { this.format = format; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public List<Part> getParts() { return parts; }
+    public void setParts(List<Part> parts) { this.parts = parts; }
+
+    // One id range, [fromId, toId], exported to one compressed file
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Part {
+
+        public enum Status { PENDING, DONE, FAILED }
+
+        private int index;
+        private long fromId;
+        private long toId;
+        private Status status = Status.PENDING;
+        private long rows;
+        private String file;
+        private String error;
+
+        // Constructors
+        public Part() {}
+
+        public Part(int index, long fromId, long toId) {
+            this.index = index;
+            this.fromId = fromId;
+            this.toId = toId;
+        }
+
+        // Getters and Setters
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+
+        public long getFromId() { return fromId; }
+        public void setFromId(long fromId) { this.fromId = fromId; }
+
+        public long getToId() { return toId; }
+        public void setToId(long toId) { this.toId = toId; }
+
+        public Status getStatus() { return status; }
+        public void setStatus(Status status) { this.status = status; }
+
+        public long getRows() { return rows; }
+        public void setRows(long rows) { this.rows = rows; }
+
+        public String getFile() { return file; }
+        public void setFile(String file) { this.file = file; }
+
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+}
@@ -0,0 +1,84 @@
+package com.enterprise.user_management.export;
+
+import com.enterprise.user_management.dto.UserResponseDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+// Writes one gzip-compressed part file, row by row, as CSV (with a header) or NDJSON
+public class UserExportWriter implements Closeable {
+
+    static final String CSV_HEADER = "id,username,email,firstName,lastName,phone,role,active,createdAt,updatedAt";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExportFormat format;
+    private final Writer writer;
+    private final ObjectWriter jsonWriter;
+    private final JsonGenerator generator;
+
+    public UserExportWriter(OutputStream output, ExportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(output, BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == ExportFormat.NDJSON) {
+            this.jsonWriter = objectMapper.writerFor(UserResponseDTO.class)
+                    .withRootValueSeparator("")
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.generator = jsonWriter.createGenerator(writer);
+        } else {
+            this.jsonWriter = null;
+            this.generator = null;
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    public void write(UserResponseDTO user) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            jsonWriter.writeValue(generator, user);
+            generator.writeRaw('\n');
+            return;
+        }
+        writer.write(String.valueOf(user.getId()));
+        writeCsvField(user.getUsername());
+        writeCsvField(user.getEmail());
+        writeCsvField(user.getFirstName());
+        writeCsvField(user.getLastName());
+        writeCsvField(user.getPhone());
+        writeCsvField(user.getRole() == null ? null : user.getRole().name());
+        writeCsvField(String.valueOf(user.getActive()));
+        writeCsvField(user.getCreatedAt() == null ? null : user.getCreatedAt().toString());
+        writeCsvField(user.getUpdatedAt() == null ? null : user.getUpdatedAt().toString());
+        writer.write('\n');
+    }
+
+    // Also finishes the gzip trailer
+    @Override
+    public void close() throws IOException {
+        if (generator != null) {
+            generator.close();
+        }
+        writer.close();
+    }
+
+    // Empty for null; quoted, with doubled quotes, when the value has a delimiter, quote or line break
+    private void writeCsvField(String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
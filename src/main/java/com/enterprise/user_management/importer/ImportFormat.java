@@ -0,0 +1,14 @@
+package com.enterprise.user_management.importer;
+
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static ImportFormat fromContentType(MediaType contentType) {
+        return contentType != null && contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON) ? NDJSON : CSV;
+    }
+}
@@ -0,0 +1,184 @@
+package com.enterprise.user_management.importer;
+
+import com.enterprise.user_management.dto.UserCreateDTO;
+import com.enterprise.user_management.enums.UserRole;
+import com.enterprise.user_management.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// Reads an import one line at a time, so only the current record is ever in memory.
+// CSV needs a header naming its columns; NDJSON is one UserCreateDTO object per line.
+// Blank lines are skipped; line numbers in the report refer to the physical input line.
+public class UserImportReader implements Iterator<UserImportRow>, Closeable {
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("username", "email", "password", "firstName", "lastName", "phone", "role");
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectReader jsonReader;
+    private final Map<String, Integer> csvColumns;
+
+    private long lineNumber;
+    private String nextLine;
+
+    private UserImportReader(BufferedReader reader, ImportFormat format, ObjectReader jsonReader,
+                             Map<String, Integer> csvColumns, long lineNumber) {
+        this.reader = reader;
+        this.format = format;
+        this.jsonReader = jsonReader;
+        this.csvColumns = csvColumns;
+        this.lineNumber = lineNumber;
+    }
+
+    // Reads the CSV header eagerly, so a bad header fails the request before any row is imported
+    public static UserImportReader open(InputStream input, ImportFormat format, ObjectMapper objectMapper)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ObjectReader jsonReader = objectMapper.readerFor(UserCreateDTO.class);
+        if (format == ImportFormat.NDJSON) {
+            return new UserImportReader(reader, format, jsonReader, Map.of(), 0);
+        }
+
+        String header = reader.readLine();
+        if (header == null || header.isBlank()) {
+            throw new BadRequestException("CSV import must start with a header line");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = parseCsvLine(header.startsWith("﻿") ? header.substring(1) : header);
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i) == null ? "" : names.get(i).trim();
+            String column = CSV_COLUMNS.stream().filter(name::equalsIgnoreCase).findFirst()
+                    .orElseThrow(() -> new BadRequestException("Unknown CSV column '" + name + "'. Allowed: " +
+                            String.join(", ", CSV_COLUMNS)));
+            columns.put(column, i);
+        }
+        for (String required : List.of("username", "email", "password", "role")) {
+            if (!columns.containsKey(required)) {
+                throw new BadRequestException("CSV header is missing the '" + required + "' column");
+            }
+        }
+        return new UserImportReader(reader, format, jsonReader, columns, 1);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (nextLine == null) {
+                String line = reader.readLine();
+                if (line == null) {
+                    return false;
+                }
+                lineNumber++;
+                if (!line.isBlank()) {
+                    nextLine = line;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public UserImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String line = nextLine;
+        nextLine = null;
+        return format == ImportFormat.NDJSON ? parseJson(line) : parseCsv(line);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private UserImportRow parseJson(String line) {
+        try {
+            UserCreateDTO user = jsonReader.readValue(line);
+            return user == null
+                    ? UserImportRow.unparseable(lineNumber, "Expected a JSON object")
+                    : UserImportRow.parsed(lineNumber, user);
+        } catch (JsonProcessingException e) {
+            return UserImportRow.unparseable(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private UserImportRow parseCsv(String line) {
+        List<String> fields;
+        try {
+            fields = parseCsvLine(line);
+        } catch (IllegalArgumentException e) {
+            return UserImportRow.unparseable(lineNumber, e.getMessage());
+        }
+        if (fields.size() != csvColumns.size()) {
+            return UserImportRow.unparseable(lineNumber,
+                    "Expected " + csvColumns.size() + " fields but found " + fields.size());
+        }
+
+        UserCreateDTO user = new UserCreateDTO();
+        user.setUsername(field(fields, "username"));
+        user.setEmail(field(fields, "email"));
+        user.setPassword(field(fields, "password"));
+        user.setFirstName(field(fields, "firstName"));
+        user.setLastName(field(fields, "lastName"));
+        user.setPhone(field(fields, "phone"));
+        String role = field(fields, "role");
+        if (role != null) {
+            try {
+                user.setRole(UserRole.valueOf(role.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                return UserImportRow.unparseable(lineNumber, "Unknown role: " + role);
+            }
+        }
+        return UserImportRow.parsed(lineNumber, user);
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = csvColumns.get(column);
+        return index == null ? null : fields.get(index);
+    }
+
+    // RFC 4180 fields on a single line: quoted fields may contain commas and doubled quotes.
+    // Empty fields become null so optional columns stay unset.
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                fields.add(field.isEmpty() && !wasQuoted ? null : field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+                wasQuoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.isEmpty() && !wasQuoted ? null : field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,15 @@
+package com.enterprise.user_management.importer;
+
+import com.enterprise.user_management.dto.UserCreateDTO;
+
+// One input record; `error` is set instead of `user` when the line could not be parsed
+public record UserImportRow(long line, UserCreateDTO user, String error) {
+
+    static UserImportRow parsed(long line, UserCreateDTO user) {
+        return new UserImportRow(line, user, null);
+    }
+
+    static UserImportRow unparseable(long line, String error) {
+        return new UserImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,58 @@
+package com.enterprise.user_management.outbox;
+
+import com.enterprise.user_management.dto.UserChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Appends events as NDJSON to a local file and forces each batch to disk before reporting it delivered
+@Component
+@ConditionalOnProperty(name = "users.outbox.sink", havingValue = "file")
+public class FileUserEventSink implements UserEventSink {
+
+    @Value("${users.outbox.file:${java.io.tmpdir}/user-events.ndjson}")
+    private Path file;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Override
+    public void publish(List<UserChangeEvent> events) throws IOException {
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        for (UserChangeEvent event : events) {
+            batch.write(objectMapper.writeValueAsBytes(event));
+            batch.write('\n');
+        }
+
+        lock.lock();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
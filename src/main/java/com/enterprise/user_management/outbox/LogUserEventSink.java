@@ -0,0 +1,30 @@
+package com.enterprise.user_management.outbox;
+
+import com.enterprise.user_management.dto.UserChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+// One JSON line per event on the "user-events" logger; for local runs and tests
+@Component
+@ConditionalOnProperty(name = "users.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LogUserEventSink implements UserEventSink {
+
+    private static final Logger log = LoggerFactory.getLogger("user-events");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public void publish(List<UserChangeEvent> events) throws IOException {
+        for (UserChangeEvent event : events) {
+            log.info(objectMapper.writeValueAsString(event));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.enterprise.user_management.outbox;
+
+import com.enterprise.user_management.dto.UserChangeEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+// Where UserOutboxRelay publishes change events, selected with users.outbox.sink. A batch counts as
+// delivered once publish returns; if it throws, the whole batch is retried, so sinks may see duplicates.
+public interface UserEventSink {
+
+    void publish(List<UserChangeEvent> events) throws IOException;
+}
@@ -0,0 +1,72 @@
+package com.enterprise.user_management.outbox;
+
+import com.enterprise.user_management.dto.UserResponseDTO;
+import com.enterprise.user_management.entity.User;
+import com.enterprise.user_management.entity.UserOutboxEvent;
+import com.enterprise.user_management.enums.UserEventType;
+import com.enterprise.user_management.repository.UserOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Writes change events in the caller's transaction, so an event exists exactly when its change committed
+@Component
+public class UserOutbox {
+
+    static final String INSERT_SQL = "INSERT INTO user_outbox (event_type, user_id, username, payload, created_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private UserOutboxRepository userOutboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(UserEventType type, User user) {
+        // Flushed first so the snapshot carries the updatedAt the row commits with
+        entityManager.flush();
+        userOutboxRepository.save(new UserOutboxEvent(type, user.getId(), user.getUsername(),
+                toPayload(UserResponseDTO.fromEntity(user))));
+    }
+
+    // For the set-based writers (bulk updates, imports): one JDBC batch for the chunk's events,
+    // on the connection the chunk's own statements run on
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(UserEventType type, List<UserResponseDTO> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(users.size());
+        for (UserResponseDTO user : users) {
+            rows.add(new Object[]{type.name(), user.getId(), user.getUsername(), toPayload(user), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private String toPayload(UserResponseDTO user) {
+        try {
+            return objectMapper.writeValueAsString(user);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize user " + user.getId(), e);
+        }
+    }
+}
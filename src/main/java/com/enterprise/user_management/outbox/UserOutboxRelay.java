@@ -0,0 +1,118 @@
+package com.enterprise.user_management.outbox;
+
+import com.enterprise.user_management.dto.UserChangeEvent;
+import com.enterprise.user_management.entity.UserOutboxEvent;
+import com.enterprise.user_management.repository.UserOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Drains the outbox in batches: lock the oldest events (SKIP LOCKED), publish them to the sink, delete
+// them, commit. A failure anywhere rolls the batch back for the next run, so delivery is at-least-once.
+// Each run drains until the outbox is empty, which bounds lag to the relay interval plus drain time.
+@Component
+public class UserOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(UserOutboxRelay.class);
+
+    @Value("${users.outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${users.outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private UserOutboxRepository userOutboxRepository;
+
+    @Autowired
+    private UserEventSink sink;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private Counter published;
+    private Counter failures;
+
+    @PostConstruct
+    void init() {
+        published = Counter.builder("users.outbox.published")
+                .description("User change events delivered to the sink")
+                .register(meterRegistry);
+        failures = Counter.builder("users.outbox.failures")
+                .description("Relay batches rolled back for a later retry")
+                .register(meterRegistry);
+        Gauge.builder("users.outbox.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest unpublished event after the last relay run")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${users.outbox.relay.interval:1000}")
+    public void relay() {
+        if (enabled) {
+            drain();
+        }
+    }
+
+    // Returns the number of events published; a run already in progress on this instance is not joined
+    public long drain() {
+        if (!drainLock.tryLock()) {
+            return 0;
+        }
+        long total = 0;
+        try {
+            int count;
+            do {
+                count = transactionTemplate.execute(status -> publishBatch());
+                total += count;
+            } while (count == batchSize);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Publishing user change events failed, retrying on the next run: {}", e.getMessage());
+        } finally {
+            drainLock.unlock();
+        }
+
+        Instant oldest = userOutboxRepository.findOldestCreatedAt();
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).toMillis()));
+        return total;
+    }
+
+    private int publishBatch() {
+        List<UserOutboxEvent> events = userOutboxRepository.findNextBatch(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        try {
+            sink.publish(events.stream().map(UserChangeEvent::fromEntity).toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        userOutboxRepository.deleteAllInBatch(events);
+        published.increment(events.size());
+        return events.size();
+    }
+}
@@ -0,0 +1,53 @@
+package com.enterprise.user_management.pagination;
+
+import com.enterprise.user_management.dto.UserResponseDTO;
+import com.enterprise.user_management.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Opaque continuation token: the sort it was issued for plus the sort key and id of the last row
+public record UserCursor(UserSortField sortField, Sort.Direction direction, Object lastValue, Long lastId) {
+
+    private static final String SEPARATOR = "|";
+
+    public static UserCursor after(UserResponseDTO user, UserSortField sortField, Sort.Direction direction) {
+        return new UserCursor(sortField, direction, sortField.valueOf(user), user.getId());
+    }
+
+    // For a page sorted by UserSortField.sort(..): the first order names the keyset field
+    public static UserCursor after(UserResponseDTO user, Sort sort) {
+        Sort.Order order = sort.iterator().next();
+        return after(user, UserSortField.fromProperty(order.getProperty()), order.getDirection());
+    }
+
+    public static UserCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The sort value goes last so it may itself contain the separator
+            String[] parts = decoded.split("\\" + SEPARATOR, 4);
+            UserSortField sortField = UserSortField.valueOf(parts[0]);
+            return new UserCursor(sortField, Sort.Direction.valueOf(parts[1]),
+                    sortField.parse(parts[3]), Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = sortField.name() + SEPARATOR + direction.name() + SEPARATOR + lastId + SEPARATOR + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public KeysetScrollPosition position() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(sortField.getProperty(), lastValue);
+        keys.put(UserSortField.ID.getProperty(), lastId);
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,52 @@
+package com.enterprise.user_management.pagination;
+
+import com.enterprise.user_management.dto.UserResponseDTO;
+import com.enterprise.user_management.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Sortable user columns; each is backed by an index that ends in (or is) the id
+public enum UserSortField {
+    ID("id", UserResponseDTO::getId, Long::valueOf),
+    USERNAME("username", UserResponseDTO::getUsername, value -> value),
+    EMAIL("email", UserResponseDTO::getEmail, value -> value),
+    CREATED_AT("createdAt", UserResponseDTO::getCreatedAt, LocalDateTime::parse);
+
+    private final String property;
+    private final Function<UserResponseDTO, Object> extractor;
+    private final Function<String, Object> parser;
+
+    UserSortField(String property, Function<UserResponseDTO, Object> extractor, Function<String, Object> parser) {
+        this.property = property;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public static UserSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Cannot sort by '" + property + "'. Allowed: " +
+                        Arrays.stream(values()).map(UserSortField::getProperty).collect(Collectors.joining(", "))));
+    }
+
+    // Ties are broken on id in the same direction, so the order is total and stable
+    public Sort sort(Sort.Direction direction) {
+        Sort sort = Sort.by(direction, property);
+        return this == ID ? sort : sort.and(Sort.by(direction, ID.property));
+    }
+
+    public String getProperty() { return property; }
+
+    Object valueOf(UserResponseDTO user) {
+        return extractor.apply(user);
+    }
+
+    Object parse(String value) {
+        return parser.apply(value);
+    }
+}
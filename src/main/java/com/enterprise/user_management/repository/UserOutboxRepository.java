@@ -0,0 +1,29 @@
+package com.enterprise.user_management.repository;
+
+import com.enterprise.user_management.entity.UserOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.LockOptions;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface UserOutboxRepository extends JpaRepository<UserOutboxEvent, Long> {
+
+    // FOR UPDATE SKIP LOCKED: relays on other instances take the next events instead of waiting on these
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_SPEC_LOCK_TIMEOUT, value = "" + LockOptions.SKIP_LOCKED))
+    @Query("SELECT e FROM UserOutboxEvent e ORDER BY e.id")
+    List<UserOutboxEvent> findNextBatch(Limit limit);
+
+    @Query("SELECT MIN(e.createdAt) FROM UserOutboxEvent e")
+    Instant findOldestCreatedAt();
+}
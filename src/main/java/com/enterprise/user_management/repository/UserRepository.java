@@ -1,38 +1,177 @@
 package com.enterprise.user_management.repository;
 
+import com.enterprise.user_management.dto.UserBulkTarget;
+import com.enterprise.user_management.dto.UserResponseDTO;
+import com.enterprise.user_management.dto.UserRow;
 import com.enterprise.user_management.entity.User;
 import com.enterprise.user_management.enums.UserRole;
+import com.enterprise.user_management.search.IndexedTableState;
+import com.enterprise.user_management.search.IndexedUser;
+import com.enterprise.user_management.stats.UserCountGroup;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    // Read paths select the response columns straight into the DTO: no password hash, no managed
+    // entity and no dirty-checking snapshot
+    String RESPONSE_SELECT = "SELECT new com.enterprise.user_management.dto.UserResponseDTO(u.id, u.username, u.email, " +
+            "u.firstName, u.lastName, u.phone, u.role, u.active, u.createdAt, u.updatedAt) FROM User u";
+    // Matches like the search index: case-insensitive substring, with the pattern from containsPattern
+    String SEARCH_CRITERIA = " WHERE lower(u.username) LIKE lower(:pattern) ESCAPE '!'" +
+            " OR lower(u.email) LIKE lower(:pattern) ESCAPE '!'" +
+            " OR lower(u.firstName) LIKE lower(:pattern) ESCAPE '!'" +
+            " OR lower(u.lastName) LIKE lower(:pattern) ESCAPE '!'";
 
-    Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
 
+    List<User> findByUsernameIn(Collection<String> usernames);
+
+    // Password hash and active flag for authentication, always read from the row: a cached copy
+    // can miss a password change or deactivation committed on another instance
+    @QueryHints(@QueryHint(name = "jakarta.persistence.cache.retrieveMode", value = "BYPASS"))
+    @Query("SELECT u FROM User u WHERE u.username = :username")
+    Optional<User> findCredentialsByUsername(@Param("username") String username);
+
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
 
+    // Set-based uniqueness checks for bulk import: one IN query per chunk instead of one per row
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     List<User> findByRole(UserRole role);
     List<User> findByActive(Boolean active);
 
     Page<User> findByRole(UserRole role, Pageable pageable);
     Page<User> findByActive(Boolean active, Pageable pageable);
 
-    @Query("SELECT u FROM User u WHERE u.username LIKE %:search% OR u.email LIKE %:search% OR u.firstName LIKE %:search% OR u.lastName LIKE %:search%")
-    Page<User> findBySearchCriteria(@Param("search") String search, Pageable pageable);
+    @Query(RESPONSE_SELECT + " WHERE u.id = :id")
+    Optional<UserResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query(RESPONSE_SELECT + " WHERE u.id IN :ids")
+    List<UserResponseDTO> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Rows a bulk UPDATE stamped with `updatedAt`, read back in its transaction for the outbox
+    @Query(RESPONSE_SELECT + " WHERE u.id IN :ids AND u.updatedAt = :updatedAt")
+    List<UserResponseDTO> findResponsesByIdInAndUpdatedAt(@Param("ids") Collection<Long> ids,
+                                                          @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query(RESPONSE_SELECT + " WHERE u.role = :role")
+    List<UserResponseDTO> findResponsesByRole(@Param("role") UserRole role);
+
+    @Query(RESPONSE_SELECT)
+    List<UserResponseDTO> findAllResponses();
+
+    @Query(value = RESPONSE_SELECT, countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserResponseDTO> findResponsePage(Pageable pageable);
+
+    // Slice variants skip the COUNT query that a Page runs
+    @Query(RESPONSE_SELECT)
+    Slice<UserResponseDTO> findResponseSlice(Pageable pageable);
+
+    // Keyset scrolling: a KeysetScrollPosition becomes a WHERE on the sort keys instead of an OFFSET
+    Window<UserRow> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Forward-only export cursor: the driver fetches rows in batches instead of buffering the result,
+    // and read-only entities keep no dirty-checking snapshot. Must be consumed inside a transaction.
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAllOrderedById();
+
+    @Query("SELECT u FROM User u" + SEARCH_CRITERIA)
+    Page<User> findBySearchCriteria(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = RESPONSE_SELECT + SEARCH_CRITERIA, countQuery = "SELECT COUNT(u) FROM User u" + SEARCH_CRITERIA)
+    Page<UserResponseDTO> searchResponsePage(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(RESPONSE_SELECT + SEARCH_CRITERIA)
+    Slice<UserResponseDTO> searchResponseSlice(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("SELECT new com.enterprise.user_management.search.IndexedUser(u.id, u.username, u.email, u.firstName, u.lastName) " +
+            "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<IndexedUser> findIndexedUsersAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.enterprise.user_management.search.IndexedTableState(COUNT(u), MAX(u.id), MAX(u.updatedAt)) " +
+            "FROM User u")
+    IndexedTableState findIndexedTableState();
+
+    // Bulk updates: targets are read a chunk at a time (by id, or by filter in id order), then
+    // updated with one statement per chunk. The guard on the current value keeps the row count
+    // to users that actually changed.
+    String BULK_TARGET_SELECT = "SELECT new com.enterprise.user_management.dto.UserBulkTarget(" +
+            "u.id, u.username, u.role, u.active) FROM User u";
+
+    @Query(BULK_TARGET_SELECT + " WHERE u.id IN :ids")
+    List<UserBulkTarget> findBulkTargetsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // `pattern` is the search term from containsPattern, or null
+    @Query(BULK_TARGET_SELECT + " WHERE u.id > :afterId" +
+            " AND (:role IS NULL OR u.role = :role)" +
+            " AND (:active IS NULL OR u.active = :active)" +
+            " AND (:pattern IS NULL OR lower(u.username) LIKE lower(:pattern) ESCAPE '!'" +
+            " OR lower(u.email) LIKE lower(:pattern) ESCAPE '!'" +
+            " OR lower(u.firstName) LIKE lower(:pattern) ESCAPE '!'" +
+            " OR lower(u.lastName) LIKE lower(:pattern) ESCAPE '!')" +
+            " ORDER BY u.id")
+    List<UserBulkTarget> findBulkTargetsAfter(@Param("afterId") Long afterId, @Param("role") UserRole role,
+                                              @Param("active") Boolean active, @Param("pattern") String pattern,
+                                              Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.active = :active, u.updatedAt = :now WHERE u.id IN :ids AND u.active <> :active")
+    int updateActiveByIdIn(@Param("ids") Collection<Long> ids, @Param("active") boolean active,
+                           @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.role = :role, u.updatedAt = :now WHERE u.id IN :ids AND u.role <> :role")
+    int updateRoleByIdIn(@Param("ids") Collection<Long> ids, @Param("role") UserRole role,
+                         @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.enterprise.user_management.stats.UserCountGroup(u.role, u.active, COUNT(u)) " +
+            "FROM User u GROUP BY u.role, u.active")
+    List<UserCountGroup> countGroupedByRoleAndActive();
 
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role")
     long countByRole(@Param("role") UserRole role);
 
     @Query("SELECT COUNT(u) FROM User u WHERE u.active = true")
     long countActiveUsers();
+
+    // Wraps a search term for the LIKE queries above, escaping its own wildcards so "_" and "%"
+    // match literally, as they do in the search index
+    static String containsPattern(String search) {
+        String escaped = search.trim()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return "%" + escaped + "%";
+    }
 }
@@ -0,0 +1,17 @@
+package com.enterprise.user_management.repository;
+
+import com.enterprise.user_management.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    // Resolves through the natural-id and entity caches before touching the database
+    Optional<User> findByUsername(String username);
+
+    // Only what the persistence context and second-level cache hold; never queries the database
+    Optional<User> findCachedByUsername(String username);
+
+    // The same, by primary key
+    Optional<User> findCachedById(Long id);
+}
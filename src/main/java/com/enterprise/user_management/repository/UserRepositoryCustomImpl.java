@@ -0,0 +1,49 @@
+package com.enterprise.user_management.repository;
+
+import com.enterprise.user_management.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Transactional so the unwrapped session stays open for the load when no transaction is active
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findCachedByUsername(String username) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(User.class);
+        Object id = session.getPersistenceContextInternal().getNaturalIdResolutions()
+                .findCachedIdByNaturalId(username, persister);
+        if (id == null || !session.getFactory().getCache().containsEntity(User.class, id)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(session.find(User.class, id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findCachedById(Long id) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        if (!session.getFactory().getCache().containsEntity(User.class, id)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(session.find(User.class, id));
+    }
+}
@@ -0,0 +1,43 @@
+package com.enterprise.user_management.repository;
+
+import com.enterprise.user_management.dto.UserResponseDTO;
+import com.enterprise.user_management.enums.UserRole;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// Plain-JDBC reads of the response columns (hedged reads, export parts) that bypass the JPA
+// session. The column list and its mapping live only here, next to RESPONSE_SELECT in UserRepository.
+public final class UserResponseRowMapper implements RowMapper<UserResponseDTO> {
+
+    public static final String SELECT_SQL = "SELECT id, username, email, first_name, last_name, phone, " +
+            "role, active, created_at, updated_at FROM users";
+
+    public static final UserResponseRowMapper INSTANCE = new UserResponseRowMapper();
+
+    private UserResponseRowMapper() {
+    }
+
+    @Override
+    public UserResponseDTO mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        return new UserResponseDTO(
+                resultSet.getLong("id"),
+                resultSet.getString("username"),
+                resultSet.getString("email"),
+                resultSet.getString("first_name"),
+                resultSet.getString("last_name"),
+                resultSet.getString("phone"),
+                UserRole.valueOf(resultSet.getString("role")),
+                resultSet.getBoolean("active"),
+                toLocalDateTime(resultSet.getTimestamp("created_at")),
+                toLocalDateTime(resultSet.getTimestamp("updated_at")));
+    }
+
+    // Rows written outside Hibernate (imports, manual fixes) may lack the timestamps
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,8 @@
+package com.enterprise.user_management.search;
+
+import java.time.LocalDateTime;
+
+// Cheap summary of the users table: any insert, delete or update changes at least one field,
+// so an unchanged state means the index has nothing to reload
+public record IndexedTableState(Long rows, Long maxId, LocalDateTime lastUpdatedAt) {
+}
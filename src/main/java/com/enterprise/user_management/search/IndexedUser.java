@@ -0,0 +1,21 @@
+package com.enterprise.user_management.search;
+
+import com.enterprise.user_management.entity.User;
+
+import java.util.Locale;
+
+// The searchable columns of a user, as loaded for the index
+public record IndexedUser(Long id, String username, String email, String firstName, String lastName) {
+
+    public static IndexedUser fromEntity(User user) {
+        return new IndexedUser(user.getId(), user.getUsername(), user.getEmail(), user.getFirstName(), user.getLastName());
+    }
+
+    IndexedUser normalized() {
+        return new IndexedUser(id, normalize(username), normalize(email), normalize(firstName), normalize(lastName));
+    }
+
+    static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,488 @@
+package com.enterprise.user_management.search;
+
+import com.enterprise.user_management.entity.User;
+import com.enterprise.user_management.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Trigram inverted index over username, email, first and last name, so substring search does
+// not have to scan the users table. Postings built at startup (or compaction) are immutable
+// sorted arrays; later writes go to a small concurrent delta until the next compaction.
+// Postings are never removed: every candidate is checked against the current document, so
+// stale entries from updates and deletes only cost a skipped candidate.
+@Component
+public class UserSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    static final int MIN_QUERY_LENGTH = 3;
+
+    private static final int BUILD_LEAF_SIZE = 4096;
+    private static final int LOAD_CHUNK_SIZE = 10_000;
+
+    @Value("${users.search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${users.search.index.compaction-threshold:10000}")
+    private long compactionThreshold;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, IndexedUser> documents = new ConcurrentHashMap<>();
+    private final AtomicLong deltaPostings = new AtomicLong();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Postings postings = new Postings(Map.of(), Map.of(), new ConcurrentHashMap<>());
+    private volatile boolean ready;
+
+    // Ids written while a reload is reading the table; the reload must not overwrite them
+    private volatile Set<Long> touchedDuringReload;
+
+    // The table as of the last reload; compaction compares it against the current state
+    private volatile IndexedTableState loadedState;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("users.search.index.documents", documents, Map::size).register(meterRegistry);
+        Gauge.builder("users.search.index.delta", deltaPostings, AtomicLong::get).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        reload(userRepository.findIndexedTableState());
+        ready = true;
+        log.info("Indexed {} users for search in {} ms", documents.size(), System.currentTimeMillis() - start);
+    }
+
+    // Replaces the document map wholesale; used by benchmarks and tests without a database
+    public void load(Collection<IndexedUser> users) {
+        documents.clear();
+        for (IndexedUser user : users) {
+            documents.put(user.id(), user.normalized());
+        }
+        rebuild();
+        ready = true;
+    }
+
+    // Applied after commit so rolled-back writes never become searchable
+    public void index(User user) {
+        IndexedUser document = IndexedUser.fromEntity(user).normalized();
+        afterCommit(() -> upsert(document));
+    }
+
+    public void remove(Long userId) {
+        afterCommit(() -> {
+            markTouched(userId);
+            documents.remove(userId);
+        });
+    }
+
+    // Returns null when the index cannot answer (disabled, still building, or query shorter
+    // than a trigram); callers then fall back to the database query
+    public SearchHits search(String query, long offset, int limit) {
+        if (!enabled || !ready || query == null) {
+            return null;
+        }
+        String normalized = IndexedUser.normalize(query.trim());
+        if (normalized.length() < MIN_QUERY_LENGTH) {
+            return null;
+        }
+
+        Postings current = postings;
+        long[] candidates = candidates(current, trigrams(normalized));
+
+        // Keep only the best offset + limit matches; the rest only count towards the total
+        int wanted = (int) Math.min(Integer.MAX_VALUE, offset + limit);
+        PriorityQueue<ScoredId> top = new PriorityQueue<>(Math.max(1, Math.min(wanted, 1024)), ScoredId.ORDER.reversed());
+        long total = 0;
+        for (long id : candidates) {
+            IndexedUser document = documents.get(id);
+            int score = document == null ? 0 : score(document, normalized);
+            if (score == 0) {
+                continue;
+            }
+            total++;
+            if (wanted == 0) {
+                continue;
+            }
+            ScoredId scored = new ScoredId(id, score);
+            if (top.size() < wanted) {
+                top.add(scored);
+            } else if (ScoredId.ORDER.compare(scored, top.peek()) < 0) {
+                top.poll();
+                top.add(scored);
+            }
+        }
+
+        List<ScoredId> ranked = new ArrayList<>(top);
+        ranked.sort(ScoredId.ORDER);
+        List<Long> ids = new ArrayList<>();
+        for (int i = (int) Math.min(offset, ranked.size()); i < ranked.size(); i++) {
+            ids.add(ranked.get(i).id());
+        }
+        return new SearchHits(ids, total);
+    }
+
+    // Reloads from the database whenever the table changed since the last load, so rows written
+    // without going through index() (imports, bulk updates, other instances) become searchable and
+    // rows deleted elsewhere drop out. Otherwise a large local delta only rebuilds the postings.
+    @Scheduled(fixedDelayString = "${users.search.index.compaction-interval:60000}")
+    public void compact() {
+        if (!ready) {
+            return;
+        }
+        IndexedTableState state = userRepository.findIndexedTableState();
+        if (!Objects.equals(state, loadedState)) {
+            reload(state);
+        } else if (deltaPostings.get() >= compactionThreshold) {
+            rebuild();
+        }
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private void upsert(IndexedUser document) {
+        markTouched(document.id());
+        IndexedUser previous = documents.put(document.id(), document);
+        long[] before = previous == null ? new long[0] : trigrams(previous);
+
+        // A compaction that freezes the delta mid-write still picks this document up from
+        // its snapshot of the document map, which already holds it
+        Map<Long, Set<Long>> delta = postings.delta;
+        for (long trigram : trigrams(document)) {
+            if (Arrays.binarySearch(before, trigram) < 0) {
+                delta.computeIfAbsent(trigram, t -> ConcurrentHashMap.newKeySet()).add(document.id());
+                deltaPostings.incrementAndGet();
+            }
+        }
+    }
+
+    // Refreshes the document map from the users table in keyset chunks, one bounded result set at
+    // a time, then rebuilds the postings. Searches keep using the current map throughout. `state`
+    // is read before the rows, so a write that lands during the load triggers the next reload.
+    private void reload(IndexedTableState state) {
+        rebuildLock.lock();
+        try {
+            Set<Long> touched = ConcurrentHashMap.newKeySet();
+            touchedDuringReload = touched;
+            Set<Long> loaded = new HashSet<>();
+
+            long afterId = 0;
+            List<IndexedUser> chunk;
+            do {
+                chunk = userRepository.findIndexedUsersAfter(afterId, PageRequest.ofSize(LOAD_CHUNK_SIZE));
+                for (IndexedUser user : chunk) {
+                    loaded.add(user.id());
+                    // A write committed since the reload began is newer than the row read here
+                    if (!touched.contains(user.id())) {
+                        documents.put(user.id(), user.normalized());
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    afterId = chunk.get(chunk.size() - 1).id();
+                }
+            } while (chunk.size() == LOAD_CHUNK_SIZE);
+
+            documents.keySet().removeIf(id -> !loaded.contains(id) && !touched.contains(id));
+            touchedDuringReload = null;
+            loadedState = state;
+            rebuild();
+        } finally {
+            touchedDuringReload = null;
+            rebuildLock.unlock();
+        }
+    }
+
+    private void markTouched(Long userId) {
+        Set<Long> touched = touchedDuringReload;
+        if (touched != null) {
+            touched.add(userId);
+        }
+    }
+
+    // A lock rather than synchronized: scheduled tasks may run on virtual threads
+    private void rebuild() {
+        rebuildLock.lock();
+        try {
+            // Freeze the current delta so searches still see it while the new base is built
+            Postings frozen = postings.freeze();
+            postings = frozen;
+            deltaPostings.set(0);
+
+            IndexedUser[] snapshot = documents.values().toArray(new IndexedUser[0]);
+            Arrays.parallelSort(snapshot, Comparator.comparing(IndexedUser::id));
+            Map<Long, LongList> built = ForkJoinPool.commonPool().invoke(new BuildTask(snapshot, 0, snapshot.length));
+
+            Map<Long, long[]> base = new HashMap<>(built.size() * 2);
+            built.forEach((trigram, ids) -> base.put(trigram, ids.toArray()));
+            postings = new Postings(base, Map.of(), frozen.delta);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private static long[] candidates(Postings current, long[] queryTrigrams) {
+        // Start from the rarest trigram and intersect with the others
+        long[] rarest = null;
+        long rarestTrigram = 0;
+        for (long trigram : queryTrigrams) {
+            long[] ids = current.ids(trigram);
+            if (ids.length == 0) {
+                return ids;
+            }
+            if (rarest == null || ids.length < rarest.length) {
+                rarest = ids;
+                rarestTrigram = trigram;
+            }
+        }
+
+        LongList result = new LongList(rarest.length);
+        for (long id : rarest) {
+            boolean inAll = true;
+            for (long trigram : queryTrigrams) {
+                if (trigram != rarestTrigram && !current.contains(trigram, id)) {
+                    inAll = false;
+                    break;
+                }
+            }
+            if (inAll) {
+                result.add(id);
+            }
+        }
+        return result.toArray();
+    }
+
+    // Exact field match ranks above prefix, prefix above substring; username weighs most
+    static int score(IndexedUser document, String query) {
+        int best = fieldScore(document.username(), query, 4);
+        best = Math.max(best, fieldScore(document.email(), query, 3));
+        best = Math.max(best, fieldScore(document.firstName(), query, 2));
+        best = Math.max(best, fieldScore(document.lastName(), query, 2));
+        return best;
+    }
+
+    private static int fieldScore(String field, String query, int weight) {
+        if (field == null) {
+            return 0;
+        }
+        int position = field.indexOf(query);
+        if (position < 0) {
+            return 0;
+        }
+        if (field.length() == query.length()) {
+            return weight * 100;
+        }
+        return position == 0 ? weight * 10 : weight;
+    }
+
+    private static long[] trigrams(IndexedUser document) {
+        LongList trigrams = new LongList(64);
+        addTrigrams(trigrams, document.username());
+        addTrigrams(trigrams, document.email());
+        addTrigrams(trigrams, document.firstName());
+        addTrigrams(trigrams, document.lastName());
+        return distinctSorted(trigrams.toArray());
+    }
+
+    private static long[] trigrams(String value) {
+        LongList trigrams = new LongList(value.length());
+        addTrigrams(trigrams, value);
+        return distinctSorted(trigrams.toArray());
+    }
+
+    private static void addTrigrams(LongList target, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i + MIN_QUERY_LENGTH <= value.length(); i++) {
+            target.add(((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2));
+        }
+    }
+
+    private static long[] distinctSorted(long[] values) {
+        if (values.length == 0) {
+            return values;
+        }
+        Arrays.sort(values);
+        int size = 1;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] != values[size - 1]) {
+                values[size++] = values[i];
+            }
+        }
+        return Arrays.copyOf(values, size);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public record SearchHits(List<Long> ids, long total) {
+    }
+
+    private record ScoredId(long id, int score) {
+
+        // Best first: higher score, then lower id for a stable order across pages
+        static final Comparator<ScoredId> ORDER = Comparator.comparingInt(ScoredId::score).reversed()
+                .thenComparingLong(ScoredId::id);
+    }
+
+    // Base postings are sorted id arrays; frozen and live deltas hold writes since the last build
+    private static final class Postings {
+
+        final Map<Long, long[]> base;
+        final Map<Long, Set<Long>> frozen;
+        final Map<Long, Set<Long>> delta;
+
+        Postings(Map<Long, long[]> base, Map<Long, Set<Long>> frozen, Map<Long, Set<Long>> delta) {
+            this.base = base;
+            this.frozen = frozen;
+            this.delta = delta;
+        }
+
+        Postings freeze() {
+            Map<Long, Set<Long>> merged = new HashMap<>(frozen);
+            delta.forEach((trigram, ids) -> merged.merge(trigram, ids, (a, b) -> {
+                Set<Long> union = new HashSet<>(a);
+                union.addAll(b);
+                return union;
+            }));
+            return new Postings(base, merged, new ConcurrentHashMap<>());
+        }
+
+        long[] ids(long trigram) {
+            long[] baseIds = base.getOrDefault(trigram, new long[0]);
+            Set<Long> frozenIds = frozen.get(trigram);
+            Set<Long> deltaIds = delta.get(trigram);
+            if (frozenIds == null && deltaIds == null) {
+                return baseIds;
+            }
+            LongList ids = new LongList(baseIds.length + 16);
+            for (long id : baseIds) {
+                ids.add(id);
+            }
+            if (frozenIds != null) {
+                frozenIds.forEach(ids::add);
+            }
+            if (deltaIds != null) {
+                deltaIds.forEach(ids::add);
+            }
+            return distinctSorted(ids.toArray());
+        }
+
+        boolean contains(long trigram, long id) {
+            long[] baseIds = base.get(trigram);
+            if (baseIds != null && Arrays.binarySearch(baseIds, id) >= 0) {
+                return true;
+            }
+            Set<Long> frozenIds = frozen.get(trigram);
+            if (frozenIds != null && frozenIds.contains(id)) {
+                return true;
+            }
+            Set<Long> deltaIds = delta.get(trigram);
+            return deltaIds != null && deltaIds.contains(id);
+        }
+    }
+
+    // Documents arrive sorted by id, so appending the right half's postings keeps every list sorted
+    private static final class BuildTask extends RecursiveTask<Map<Long, LongList>> {
+
+        private final IndexedUser[] documents;
+        private final int from;
+        private final int to;
+
+        BuildTask(IndexedUser[] documents, int from, int to) {
+            this.documents = documents;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<Long, LongList> compute() {
+            if (to - from <= BUILD_LEAF_SIZE) {
+                Map<Long, LongList> postings = new HashMap<>();
+                for (int i = from; i < to; i++) {
+                    long id = documents[i].id();
+                    for (long trigram : trigrams(documents[i])) {
+                        postings.computeIfAbsent(trigram, t -> new LongList(8)).add(id);
+                    }
+                }
+                return postings;
+            }
+
+            int middle = (from + to) >>> 1;
+            BuildTask right = new BuildTask(documents, middle, to);
+            right.fork();
+            Map<Long, LongList> left = new BuildTask(documents, from, middle).compute();
+            right.join().forEach((trigram, ids) -> left.merge(trigram, ids, LongList::addAll));
+            return left;
+        }
+    }
+
+    private static final class LongList {
+
+        private long[] values;
+        private int size;
+
+        LongList(int capacity) {
+            values = new long[Math.max(capacity, 4)];
+        }
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        LongList addAll(LongList other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
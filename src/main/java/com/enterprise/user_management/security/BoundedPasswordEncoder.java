@@ -0,0 +1,155 @@
+package com.enterprise.user_management.security;
+
+import com.enterprise.user_management.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Runs BCrypt on a fixed-size pool with a bounded queue. When both are full, callers fail fast
+// with ServiceBusyException (503) instead of piling up on servlet threads.
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    // Workers bulk hashing may hold across all concurrent imports; the rest stay free for logins
+    private final Semaphore batchWorkers;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejections;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity,
+                                  int reservedWorkers, long retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.batchWorkers = new Semaphore(Math.max(0, poolSize - reservedWorkers));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("password.hashing")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejections = meterRegistry.counter("password.hashing.rejected");
+        Gauge.builder("password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // Bulk hashing for imports. Batches share poolSize - reservedWorkers workers, so however many imports
+    // run at once the reserved workers stay free for logins. Whatever doesn't get a worker (none spare, or
+    // the queue is full of logins) is hashed inline on the caller, which also keeps the batch moving.
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(rawPasswords.size());
+        for (CharSequence rawPassword : rawPasswords) {
+            Supplier<String> hash = () -> encodeTimer.record(() -> delegate.encode(rawPassword));
+            if (!batchWorkers.tryAcquire()) {
+                futures.add(CompletableFuture.completedFuture(hash.get()));
+                continue;
+            }
+            // A plain Runnable rather than submit(): a cancelled FutureTask skips its body and would
+            // leak the permit, whereas this always runs once accepted
+            CompletableFuture<String> future = new CompletableFuture<>();
+            try {
+                executor.execute(() -> {
+                    try {
+                        future.complete(hash.get());
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
+                    } finally {
+                        batchWorkers.release();
+                    }
+                });
+                futures.add(future);
+            } catch (RejectedExecutionException e) {
+                batchWorkers.release();
+                futures.add(CompletableFuture.completedFuture(hash.get()));
+            }
+        }
+
+        try {
+            List<String> encoded = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                encoded.add(future.get());
+            }
+            return encoded;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // Latency includes queue wait, which is what a caller actually experiences
+    private <T> T run(Timer timer, Supplier<T> task) {
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new ServiceBusyException("Server is busy, please retry later", retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.enterprise.user_management.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Client address for per-IP limits. Behind a load balancer every request arrives from the proxy,
+// so X-Forwarded-For is followed from the right past the configured trusted proxies; the first hop
+// that is not one of them is the client. Without trusted proxies the header is never read, since
+// any client can send it.
+@Component
+public class ClientIpResolver {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    // IP literals only, so matching never turns a header value into a DNS lookup
+    private static final Pattern IP_LITERAL = Pattern.compile("[0-9a-fA-F.:]+");
+
+    @Value("${security.trusted-proxies:}")
+    private List<String> trustedProxies;
+
+    private List<IpAddressMatcher> matchers;
+
+    @PostConstruct
+    void init() {
+        matchers = trustedProxies.stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!isTrusted(remoteAddr)) {
+            return remoteAddr;
+        }
+
+        String client = remoteAddr;
+        List<String> headers = Collections.list(request.getHeaders(FORWARDED_FOR));
+        for (int h = headers.size() - 1; h >= 0; h--) {
+            String[] hops = headers.get(h).split(",");
+            for (int i = hops.length - 1; i >= 0; i--) {
+                String hop = hops[i].trim();
+                if (hop.isEmpty()) {
+                    continue;
+                }
+                client = hop;
+                if (!isTrusted(hop)) {
+                    return client;
+                }
+            }
+        }
+        return client;
+    }
+
+    private boolean isTrusted(String address) {
+        if (matchers.isEmpty() || address == null || !IP_LITERAL.matcher(address).matches()) {
+            return false;
+        }
+        return matchers.stream().anyMatch(matcher -> matcher.matches(address));
+    }
+}
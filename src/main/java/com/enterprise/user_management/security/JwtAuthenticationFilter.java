@@ -7,7 +7,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -25,6 +28,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenRevocationStore revocationStore;
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -34,26 +40,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        ParsedToken parsedToken = null;
 
         // Check if Authorization header exists and starts with "Bearer "
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // Verify the signature once; subject and expiry are read from the same parse
+                parsedToken = jwtUtil.parseToken(jwt);
             } catch (Exception e) {
                 logger.error("Cannot get JWT Username from token: " + e.getMessage());
             }
         }
 
+        // Logged-out tokens are still signed and unexpired, so check the revocation store
+        if (parsedToken != null && revocationStore.isRevoked(parsedToken)) {
+            logger.debug("Rejected revoked JWT for user: " + parsedToken.getSubject());
+            parsedToken = null;
+        }
+
         // If we have a username and no authentication in context
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (parsedToken != null && parsedToken.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                // Recently issued tokens carry their role, so skip the user lookup when stateless mode allows it
+                UserDetails userDetails = jwtUtil.isStatelessAuthenticationAllowed(parsedToken)
+                        ? userDetailsFromClaims(parsedToken)
+                        : this.userDetailsService.loadUserByUsername(parsedToken.getSubject());
 
                 // Validate token
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                if (jwtUtil.validateToken(parsedToken, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
@@ -70,4 +86,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails userDetailsFromClaims(ParsedToken parsedToken) {
+        return User.withUsername(parsedToken.getSubject())
+                .password("")
+                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + parsedToken.getRole().name())))
+                .build();
+    }
 }
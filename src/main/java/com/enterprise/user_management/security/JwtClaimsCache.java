@@ -0,0 +1,88 @@
+package com.enterprise.user_management.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Component
+public class JwtClaimsCache {
+
+    @Value("${jwt.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private long maxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, Claims> cache;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ClaimsExpiry())
+                .recordStats()
+                .build();
+
+        // Exposes cache.gets{result=hit|miss}, cache.evictions, cache.size under cache=jwt.claims
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.claims");
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    // Returns verified claims for the token, running the verifier only on a cache miss
+    public Claims get(String token, Function<String, Claims> verifier) {
+        if (cache == null) {
+            return verifier.apply(token);
+        }
+        // Raw tokens are never kept in memory, only their SHA-256 digest
+        return cache.get(TokenHasher.sha256(token), key -> verifier.apply(token));
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    // Each entry lives until the token's own exp claim, so an expired token is never served from cache
+    private static class ClaimsExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            if (claims.getExpiration() == null) {
+                return 0;
+            }
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.enterprise.user_management.security;
 
+import com.enterprise.user_management.enums.UserRole;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -10,19 +14,50 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    public static final String ROLE_CLAIM = "role";
+    public static final String USER_ID_CLAIM = "uid";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
+
+    // How long role/user id claims are trusted before the filter re-checks the database
+    @Value("${jwt.stateless.max-staleness:300000}")
+    private long statelessMaxStaleness;
+
+    @Autowired
+    private JwtClaimsCache claimsCache;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // The key and parser are immutable and thread-safe, so build them once instead of per token
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
+    }
+
+    // Verifies the token once and exposes subject, expiry and claims without re-parsing
+    public ParsedToken parseToken(String token) {
+        return new ParsedToken(token, extractAllClaims(token));
     }
 
     public String extractUsername(String token) {
@@ -39,12 +74,12 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
+        return claimsCache.get(token, this::verifyClaims);
+    }
+
+    private Claims verifyClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (JwtException e) {
             throw new IllegalArgumentException("Invalid JWT token", e);
         }
@@ -56,9 +91,25 @@ public class JwtUtil {
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (statelessEnabled) {
+            userDetails.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .filter(authority -> authority.startsWith("ROLE_"))
+                    .findFirst()
+                    .ifPresent(authority -> claims.put(ROLE_CLAIM, authority.substring("ROLE_".length())));
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
+    public String generateToken(String username, Long userId, UserRole role) {
+        Map<String, Object> claims = new HashMap<>();
+        if (statelessEnabled) {
+            claims.put(ROLE_CLAIM, role.name());
+            claims.put(USER_ID_CLAIM, userId);
+        }
+        return createToken(claims, username);
+    }
+
     public String generateToken(UserDetails userDetails, Map<String, Object> extraClaims) {
         return createToken(extraClaims, userDetails.getUsername());
     }
@@ -68,6 +119,7 @@ public class JwtUtil {
         return Jwts.builder()
                 .claims(claims)
                 .subject(username)
+                .id(UUID.randomUUID().toString())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(getSigningKey())
@@ -78,6 +130,7 @@ public class JwtUtil {
         return Jwts.builder()
                 .claims(claims)
                 .subject(subject)
+                .id(UUID.randomUUID().toString())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(getSigningKey())
@@ -93,6 +146,21 @@ public class JwtUtil {
         }
     }
 
+    public boolean validateToken(ParsedToken parsedToken, UserDetails userDetails) {
+        return parsedToken.getSubject() != null
+                && parsedToken.getSubject().equals(userDetails.getUsername())
+                && !parsedToken.isExpired();
+    }
+
+    // True when the filter may build the Authentication from the token alone, without a user lookup
+    public boolean isStatelessAuthenticationAllowed(ParsedToken parsedToken) {
+        if (!statelessEnabled || parsedToken.getRole() == null || parsedToken.getIssuedAt() == null) {
+            return false;
+        }
+        long age = System.currentTimeMillis() - parsedToken.getIssuedAt().getTime();
+        return age <= statelessMaxStaleness && !parsedToken.isExpired();
+    }
+
     public Boolean isTokenValid(String token) {
         try {
             extractAllClaims(token);
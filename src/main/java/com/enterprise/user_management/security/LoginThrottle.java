@@ -0,0 +1,223 @@
+package com.enterprise.user_management.security;
+
+import com.enterprise.user_management.exception.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+// Limits login attempts per username and per client IP before any password is hashed.
+// Each key has a token bucket for the attempt rate and a sliding-window failure counter.
+// Both are immutable snapshots swapped with CAS, so the login path takes no locks.
+@Component
+public class LoginThrottle {
+
+    private static final String MESSAGE = "Too many login attempts, please retry later";
+
+    @Value("${security.login-throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${security.login-throttle.failure-window:PT15M}")
+    private Duration failureWindow;
+
+    @Value("${security.login-throttle.max-keys:100000}")
+    private long maxKeys;
+
+    @Value("${security.login-throttle.username.capacity:10}")
+    private int usernameCapacity;
+
+    @Value("${security.login-throttle.username.refill-per-minute:5}")
+    private double usernameRefillPerMinute;
+
+    @Value("${security.login-throttle.username.max-failures:5}")
+    private int usernameMaxFailures;
+
+    @Value("${security.login-throttle.ip.capacity:100}")
+    private int ipCapacity;
+
+    @Value("${security.login-throttle.ip.refill-per-minute:60}")
+    private double ipRefillPerMinute;
+
+    @Value("${security.login-throttle.ip.max-failures:50}")
+    private int ipMaxFailures;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    LongSupplier clock = System::currentTimeMillis;
+
+    private Limiter usernames;
+    private Limiter ips;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        usernames = new Limiter("username", usernameCapacity, usernameRefillPerMinute, usernameMaxFailures);
+        ips = new Limiter("ip", ipCapacity, ipRefillPerMinute, ipMaxFailures);
+    }
+
+    // Throws RateLimitExceededException when either key is out of attempts or locked by failures
+    public void acquire(String username, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.getAsLong();
+        KeyState user = usernames.state(normalize(username));
+        KeyState ip = ips.state(clientIp);
+
+        usernames.checkFailures(user, now);
+        ips.checkFailures(ip, now);
+        usernames.consume(user, now);
+        ips.consume(ip, now);
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.getAsLong();
+        usernames.recordFailure(usernames.state(normalize(username)), now);
+        ips.recordFailure(ips.state(clientIp), now);
+    }
+
+    // A successful login clears the account's failures; the IP keeps its history
+    public void recordSuccess(String username) {
+        if (!enabled) {
+            return;
+        }
+        KeyState user = usernames.keys.getIfPresent(normalize(username));
+        if (user != null) {
+            user.failures.set(FailureWindow.EMPTY);
+        }
+    }
+
+    private static String normalize(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long toRetryAfterSeconds(long millis) {
+        return Math.max(1, (millis + 999) / 1000);
+    }
+
+    private final class Limiter {
+
+        private final double capacity;
+        private final double refillPerMilli;
+        private final int maxFailures;
+        private final long windowMillis;
+        private final Cache<String, KeyState> keys;
+        private final Counter rateRejections;
+        private final Counter failureRejections;
+
+        Limiter(String type, int capacity, double refillPerMinute, int maxFailures) {
+            this.capacity = capacity;
+            this.refillPerMilli = refillPerMinute / 60_000.0;
+            this.maxFailures = maxFailures;
+            this.windowMillis = failureWindow.toMillis();
+
+            // The sliding window looks back at most two windows, so older idle keys carry no state
+            this.keys = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(failureWindow.multipliedBy(2))
+                    .build();
+
+            Gauge.builder("login.throttle.keys", keys, Cache::estimatedSize)
+                    .tag("key", type)
+                    .register(meterRegistry);
+            this.rateRejections = Counter.builder("login.throttle.rejected")
+                    .tag("key", type)
+                    .tag("reason", "rate")
+                    .register(meterRegistry);
+            this.failureRejections = Counter.builder("login.throttle.rejected")
+                    .tag("key", type)
+                    .tag("reason", "failures")
+                    .register(meterRegistry);
+        }
+
+        KeyState state(String key) {
+            return keys.get(key, k -> new KeyState(new Bucket(capacity, clock.getAsLong())));
+        }
+
+        void consume(KeyState state, long now) {
+            while (true) {
+                Bucket current = state.bucket.get();
+                long elapsed = Math.max(0, now - current.updatedAt());
+                double tokens = Math.min(capacity, current.tokens() + elapsed * refillPerMilli);
+                if (tokens < 1) {
+                    rateRejections.increment();
+                    long waitMillis = (long) Math.ceil((1 - tokens) / refillPerMilli);
+                    throw new RateLimitExceededException(MESSAGE, toRetryAfterSeconds(waitMillis));
+                }
+                Bucket next = new Bucket(tokens - 1, Math.max(now, current.updatedAt()));
+                if (state.bucket.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        void checkFailures(KeyState state, long now) {
+            FailureWindow window = roll(state.failures.get(), now);
+            if (window.weightedCount(now, windowMillis) >= maxFailures) {
+                failureRejections.increment();
+                long waitMillis = window.start() + windowMillis - now;
+                throw new RateLimitExceededException(MESSAGE, toRetryAfterSeconds(waitMillis));
+            }
+        }
+
+        void recordFailure(KeyState state, long now) {
+            while (true) {
+                FailureWindow current = state.failures.get();
+                FailureWindow rolled = roll(current, now);
+                FailureWindow next = new FailureWindow(rolled.start(), rolled.current() + 1, rolled.previous());
+                if (state.failures.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        private FailureWindow roll(FailureWindow window, long now) {
+            long start = now - Math.floorMod(now, windowMillis);
+            if (start <= window.start()) {
+                return window;
+            }
+            int previous = start - window.start() == windowMillis ? window.current() : 0;
+            return new FailureWindow(start, 0, previous);
+        }
+    }
+
+    private static final class KeyState {
+
+        private final AtomicReference<Bucket> bucket;
+        private final AtomicReference<FailureWindow> failures = new AtomicReference<>(FailureWindow.EMPTY);
+
+        KeyState(Bucket bucket) {
+            this.bucket = new AtomicReference<>(bucket);
+        }
+    }
+
+    private record Bucket(double tokens, long updatedAt) {
+    }
+
+    // Two fixed windows blended by overlap: the previous window's count fades out linearly
+    private record FailureWindow(long start, int current, int previous) {
+
+        static final FailureWindow EMPTY = new FailureWindow(0, 0, 0);
+
+        double weightedCount(long now, long windowMillis) {
+            double elapsed = Math.min(1.0, (now - start) / (double) windowMillis);
+            return current + previous * (1.0 - elapsed);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.enterprise.user_management.security;
+
+import com.enterprise.user_management.enums.UserRole;
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+public final class ParsedToken {
+
+    private final String token;
+    private final Claims claims;
+
+    ParsedToken(String token, Claims claims) {
+        this.token = token;
+        this.claims = claims;
+    }
+
+    public String getToken() { return token; }
+
+    public Claims getClaims() { return claims; }
+
+    public String getSubject() { return claims.getSubject(); }
+
+    public Date getExpiration() { return claims.getExpiration(); }
+
+    public Date getIssuedAt() { return claims.getIssuedAt(); }
+
+    // The jti claim, or a digest of the token for tokens issued before jti was added
+    public String getTokenId() {
+        return claims.getId() != null ? claims.getId() : TokenHasher.sha256(token);
+    }
+
+    public UserRole getRole() {
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+        return role != null ? UserRole.valueOf(role) : null;
+    }
+
+    public Long getUserId() {
+        Number userId = claims.get(JwtUtil.USER_ID_CLAIM, Number.class);
+        return userId != null ? userId.longValue() : null;
+    }
+
+    public boolean isExpired() {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
+    }
+}
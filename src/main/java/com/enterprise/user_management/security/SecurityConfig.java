@@ -1,6 +1,9 @@
 package com.enterprise.user_management.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -29,9 +32,25 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // 0 means one hashing thread per available core
+    @Value("${security.bcrypt.pool-size:0}")
+    private int bcryptPoolSize;
+
+    @Value("${security.bcrypt.queue-capacity:64}")
+    private int bcryptQueueCapacity;
+
+    // Hashing threads bulk imports never use, so logins always have one
+    @Value("${security.bcrypt.reserved-workers:1}")
+    private int bcryptReservedWorkers;
+
+    @Value("${security.bcrypt.retry-after-seconds:1}")
+    private long bcryptRetryAfterSeconds;
+
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int poolSize = bcryptPoolSize > 0 ? bcryptPoolSize : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), poolSize, bcryptQueueCapacity,
+                bcryptReservedWorkers, bcryptRetryAfterSeconds, meterRegistry);
     }
 
     @Bean
@@ -59,6 +78,10 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Streaming responses finish in an async dispatch; the JWT filter only runs on the
+                        // original request, which was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints - Authentication not required
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/users/health").permitAll()
@@ -0,0 +1,182 @@
+package com.enterprise.user_management.security;
+
+import com.enterprise.user_management.entity.RevokedToken;
+import com.enterprise.user_management.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Revoked token ids grouped by expiry time. A token can only be revoked until it expires,
+// so once a bucket's window has passed the whole bucket is dropped in one step.
+@Component
+public class TokenRevocationStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationStore.class);
+
+    @Value("${security.revocation.bucket-width:PT1H}")
+    private Duration bucketWidth;
+
+    @Value("${security.revocation.expected-per-bucket:100000}")
+    private int expectedPerBucket;
+
+    @Value("${security.revocation.persistent:false}")
+    private boolean persistent;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private Counter revocations;
+    private Counter rejections;
+
+    @PostConstruct
+    void init() {
+        revocations = meterRegistry.counter("token.revocation.revoked");
+        rejections = meterRegistry.counter("token.revocation.rejected");
+        Gauge.builder("token.revocation.buckets", buckets, Map::size).register(meterRegistry);
+        Gauge.builder("token.revocation.entries", this, TokenRevocationStore::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPersistedRevocations() {
+        if (!persistent) {
+            return;
+        }
+        int loaded = 0;
+        for (RevokedToken revokedToken : revokedTokenRepository.findByExpiresAtAfter(Instant.now())) {
+            add(revokedToken.getTokenId(), revokedToken.getExpiresAt().toEpochMilli());
+            loaded++;
+        }
+        log.info("Loaded {} persisted token revocations", loaded);
+    }
+
+    public void revoke(ParsedToken parsedToken) {
+        long expiresAt = parsedToken.getExpiration().getTime();
+        add(parsedToken.getTokenId(), expiresAt);
+        revocations.increment();
+
+        if (persistent) {
+            revokedTokenRepository.save(new RevokedToken(parsedToken.getTokenId(), Instant.ofEpochMilli(expiresAt)));
+        }
+    }
+
+    // Hot path for every authenticated request: one map read, then a Bloom probe; no locks
+    public boolean isRevoked(ParsedToken parsedToken) {
+        if (buckets.isEmpty() || parsedToken.getExpiration() == null) {
+            return false;
+        }
+        Bucket bucket = buckets.get(bucketIndex(parsedToken.getExpiration().getTime()));
+        if (bucket == null) {
+            return false;
+        }
+        boolean revoked = bucket.contains(fingerprint(parsedToken.getTokenId()));
+        if (revoked) {
+            rejections.increment();
+        }
+        return revoked;
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval:60000}")
+    @Transactional
+    public void purgeExpired() {
+        long currentBucket = bucketIndex(System.currentTimeMillis());
+        buckets.keySet().removeIf(index -> index < currentBucket);
+
+        if (persistent) {
+            revokedTokenRepository.deleteExpired(Instant.now());
+        }
+    }
+
+    public long size() {
+        return buckets.values().stream().mapToLong(Bucket::size).sum();
+    }
+
+    private void add(String tokenId, long expiresAt) {
+        buckets.computeIfAbsent(bucketIndex(expiresAt), index -> new Bucket(expectedPerBucket))
+                .add(fingerprint(tokenId));
+    }
+
+    private long bucketIndex(long epochMillis) {
+        return epochMillis / bucketWidth.toMillis();
+    }
+
+    // 64-bit FNV-1a with a splitmix finalizer; collisions are negligible at millions of ids
+    static long fingerprint(String tokenId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < tokenId.length(); i++) {
+            hash ^= tokenId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    static final class Bucket {
+
+        private static final int HASHES = 7;
+
+        private final AtomicLongArray bloom;
+        private final long bloomBits;
+        private final Set<Long> fingerprints = ConcurrentHashMap.newKeySet();
+
+        Bucket(int expectedInsertions) {
+            // ~1% false positive rate: m = -n ln(p) / ln(2)^2, about 9.6 bits per entry
+            long bits = Math.max(1024, (long) (expectedInsertions * 9.6));
+            this.bloom = new AtomicLongArray((int) ((bits + 63) / 64));
+            this.bloomBits = bloom.length() * 64L;
+        }
+
+        void add(long fingerprint) {
+            fingerprints.add(fingerprint);
+            int h1 = (int) fingerprint;
+            int h2 = (int) (fingerprint >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bloomBits);
+                long mask = 1L << (bit & 63);
+                bloom.accumulateAndGet((int) (bit >>> 6), mask, (word, m) -> word | m);
+            }
+        }
+
+        boolean contains(long fingerprint) {
+            int h1 = (int) fingerprint;
+            int h2 = (int) (fingerprint >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bloomBits);
+                if ((bloom.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) {
+                    return false;
+                }
+            }
+            // Bloom filter said "maybe"; the exact set rules out false positives
+            return fingerprints.contains(fingerprint);
+        }
+
+        long size() {
+            return fingerprints.size();
+        }
+    }
+}
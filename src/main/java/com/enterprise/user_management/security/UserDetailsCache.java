@@ -0,0 +1,111 @@
+package com.enterprise.user_management.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+@Component
+public class UserDetailsCache {
+
+    @Value("${security.user-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${security.user-cache.ttl:PT5M}")
+    private Duration ttl;
+
+    @Value("${security.user-cache.max-size:10000}")
+    private long maxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private AsyncCache<String, UserDetails> cache;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+
+        // cache.gets, cache.evictions and cache.load.duration under cache=user.details
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.details");
+        Gauge.builder("cache.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+                .tag("cache", "user.details")
+                .register(meterRegistry);
+    }
+
+    // Lookups that fail (unknown or deactivated user) throw from the loader and are not cached
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        if (cache == null) {
+            return loader.apply(username);
+        }
+
+        // The database load runs on the calling thread after the placeholder is installed, not
+        // inside the map's compute lock, so a virtual thread is never pinned while waiting on JDBC.
+        // Concurrent callers for the same user wait on the placeholder instead of loading again.
+        CompletableFuture<UserDetails> loading = new CompletableFuture<>();
+        CompletableFuture<UserDetails> entry = cache.get(username, (key, executor) -> loading);
+        if (entry == loading) {
+            try {
+                UserDetails userDetails = loader.apply(username);
+                loading.complete(userDetails);
+                return userDetails;
+            } catch (RuntimeException e) {
+                // A null value makes Caffeine drop the entry quietly, so the next call loads again
+                loading.complete(null);
+                throw e;
+            }
+        }
+
+        // Null means the owning load failed; load here so this caller gets its own outcome
+        UserDetails userDetails = entry.join();
+        return userDetails != null ? userDetails : loader.apply(username);
+    }
+
+    // Evicts now and again after commit, so a concurrent load of the pre-commit row cannot linger
+    public void invalidate(String username) {
+        if (cache == null || username == null) {
+            return;
+        }
+
+        cache.synchronous().invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.synchronous().invalidate(username);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll(Collection<String> usernames) {
+        usernames.forEach(this::invalidate);
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.synchronous().invalidateAll();
+        }
+    }
+}
@@ -17,9 +17,16 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        return userDetailsCache.get(username, this::loadFromDatabase);
+    }
+
+    private UserDetails loadFromDatabase(String username) {
+        User user = userRepository.findCredentialsByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
         if (!user.getActive()) {
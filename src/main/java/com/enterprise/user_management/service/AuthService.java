@@ -0,0 +1,12 @@
+package com.enterprise.user_management.service;
+
+import com.enterprise.user_management.dto.AuthRequest;
+import com.enterprise.user_management.dto.AuthResponse;
+import com.enterprise.user_management.dto.TokenValidationResult;
+
+import java.util.List;
+
+public interface AuthService {
+    AuthResponse login(AuthRequest authRequest);
+    List<TokenValidationResult> validateTokens(List<String> tokens);
+}
@@ -0,0 +1,9 @@
+package com.enterprise.user_management.service;
+
+import com.enterprise.user_management.dto.AuthResponse;
+
+public interface RefreshTokenService {
+    String issueToken(Long userId);
+    AuthResponse rotate(String refreshToken);
+    void revoke(String refreshToken);
+}
@@ -0,0 +1,11 @@
+package com.enterprise.user_management.service;
+
+import com.enterprise.user_management.dto.UserBulkUpdateRequest;
+import com.enterprise.user_management.dto.UserBulkUpdateResponse;
+
+public interface UserBulkUpdateService {
+
+    // Each chunk commits on its own; a failure part-way leaves earlier chunks applied
+    UserBulkUpdateResponse setActive(UserBulkUpdateRequest request, boolean active);
+    UserBulkUpdateResponse changeRole(UserBulkUpdateRequest request);
+}
@@ -0,0 +1,20 @@
+package com.enterprise.user_management.service;
+
+import com.enterprise.user_management.export.ExportFormat;
+import com.enterprise.user_management.export.UserExportJob;
+
+import java.nio.file.Path;
+
+public interface UserExportJobService {
+
+    // Returns as soon as the job is planned; parts are exported in the background
+    UserExportJob startExport(ExportFormat format);
+
+    // Snapshot of the job's progress, read from its manifest if this instance did not start it
+    UserExportJob getExport(String jobId);
+
+    // Re-runs the parts that are not DONE, e.g. after a failure or a restart
+    UserExportJob resumeExport(String jobId);
+
+    Path getPartFile(String jobId, int partIndex);
+}
@@ -0,0 +1,16 @@
+package com.enterprise.user_management.service;
+
+import com.enterprise.user_management.dto.UserImportResult;
+import com.enterprise.user_management.dto.UserImportSummary;
+import com.enterprise.user_management.importer.UserImportRow;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface UserImportService {
+
+    // Rows are consumed and committed in chunks; each chunk's results are reported together, in
+    // input order, once it has committed, so every reported acceptance survives an interrupted import
+    UserImportSummary importUsers(Iterator<UserImportRow> rows, Consumer<List<UserImportResult>> report);
+}
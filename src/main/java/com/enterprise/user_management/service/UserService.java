@@ -1,27 +1,32 @@
 package com.enterprise.user_management.service;
 
+import com.enterprise.user_management.dto.ScrollResponse;
 import com.enterprise.user_management.dto.UserCreateDTO;
 import com.enterprise.user_management.dto.UserResponseDTO;
 import com.enterprise.user_management.dto.UserUpdateDTO;
 import com.enterprise.user_management.enums.UserRole;
 import com.enterprise.user_management.dto.PasswordChangeRequest;
-import org.springframework.data.domain.Page;
+import com.enterprise.user_management.pagination.UserSortField;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserResponseDTO createUser(UserCreateDTO userCreateDTO);
     UserResponseDTO getUserById(Long id);
     UserResponseDTO getUserByUsername(String username);
     List<UserResponseDTO> getAllUsers();
-    Page<UserResponseDTO> getAllUsers(Pageable pageable);
+    long streamAllUsers(Consumer<UserResponseDTO> consumer);
+    ScrollResponse<UserResponseDTO> getAllUsers(Pageable pageable, boolean includeTotal);
+    ScrollResponse<UserResponseDTO> scrollUsers(UserSortField sortField, Sort.Direction direction, String cursor, int size);
     UserResponseDTO updateUser(Long id, UserUpdateDTO userUpdateDTO);
     void deleteUser(Long id);
     void activateUser(Long id);
     void deactivateUser(Long id);
     List<UserResponseDTO> getUsersByRole(UserRole role);
-    Page<UserResponseDTO> searchUsers(String search, Pageable pageable);
+    ScrollResponse<UserResponseDTO> searchUsers(String search, Pageable pageable, boolean includeTotal);
     long getTotalUserCount();
     long getActiveUserCount();
     long getUserCountByRole(UserRole role);
@@ -0,0 +1,131 @@
+package com.enterprise.user_management.service.impl;
+
+import com.enterprise.user_management.dto.AuthRequest;
+import com.enterprise.user_management.dto.AuthResponse;
+import com.enterprise.user_management.dto.TokenValidationResult;
+import com.enterprise.user_management.dto.UserResponseDTO;
+import com.enterprise.user_management.entity.User;
+import com.enterprise.user_management.exception.BadRequestException;
+import com.enterprise.user_management.repository.UserRepository;
+import com.enterprise.user_management.security.JwtUtil;
+import com.enterprise.user_management.security.ParsedToken;
+import com.enterprise.user_management.security.TokenRevocationStore;
+import com.enterprise.user_management.service.AuthService;
+import com.enterprise.user_management.service.RefreshTokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Login from a single users row: the same entity is used for the password check, the token
+// claims and the response body, instead of going through AuthenticationManager and reloading.
+// Not transactional at class level: the password check must not hold a pooled connection.
+@Service
+public class AuthServiceImpl implements AuthService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationStore revocationStore;
+
+    @Value("${jwt.validation.batch-max-tokens:100}")
+    private int batchMaxTokens;
+
+    private volatile String dummyHash;
+
+    @Override
+    public AuthResponse login(AuthRequest authRequest) {
+        // Loaded in its own short read-only transaction; the connection is back in the pool before hashing
+        Optional<User> candidate = userRepository.findCredentialsByUsername(authRequest.getUsername());
+
+        if (candidate.isEmpty()) {
+            // Hash anyway so unknown usernames take as long as wrong passwords
+            passwordEncoder.matches(authRequest.getPassword(), dummyHash());
+            throw new BadCredentialsException("Invalid username or password");
+        }
+
+        User user = candidate.get();
+        if (!passwordEncoder.matches(authRequest.getPassword(), user.getPassword()) || !user.getActive()) {
+            throw new BadCredentialsException("Invalid username or password");
+        }
+
+        String jwt = jwtUtil.generateToken(user.getUsername(), user.getId(), user.getRole());
+        String refreshToken = refreshTokenService.issueToken(user.getId());
+
+        return new AuthResponse(jwt, refreshToken, UserResponseDTO.fromEntity(user));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TokenValidationResult> validateTokens(List<String> tokens) {
+        if (tokens.size() > batchMaxTokens) {
+            throw new BadRequestException("At most " + batchMaxTokens + " tokens per batch");
+        }
+
+        // Signature checks are CPU-bound and independent of each other
+        List<ParsedToken> parsedTokens = tokens.parallelStream()
+                .map(this::parseIfUsable)
+                .toList();
+
+        // Each distinct subject is loaded once, in a single query for the whole batch
+        Set<String> usernames = parsedTokens.stream()
+                .filter(Objects::nonNull)
+                .map(ParsedToken::getSubject)
+                .collect(Collectors.toSet());
+        Map<String, User> users = usernames.isEmpty() ? Map.of() : userRepository.findByUsernameIn(usernames).stream()
+                .collect(Collectors.toMap(User::getUsername, Function.identity()));
+
+        return parsedTokens.stream()
+                .map(parsedToken -> toValidationResult(parsedToken, users))
+                .toList();
+    }
+
+    private ParsedToken parseIfUsable(String token) {
+        try {
+            ParsedToken parsedToken = jwtUtil.parseToken(token);
+            return parsedToken.isExpired() || revocationStore.isRevoked(parsedToken) ? null : parsedToken;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private TokenValidationResult toValidationResult(ParsedToken parsedToken, Map<String, User> users) {
+        if (parsedToken == null) {
+            return TokenValidationResult.invalid("Invalid token");
+        }
+        User user = users.get(parsedToken.getSubject());
+        if (user == null || !user.getActive()) {
+            return TokenValidationResult.invalid("User not found or deactivated");
+        }
+        return TokenValidationResult.valid(user.getUsername(), user.getRole(), parsedToken.getExpiration());
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode("dummy-password-for-timing");
+            dummyHash = hash;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,104 @@
+package com.enterprise.user_management.service.impl;
+
+import com.enterprise.user_management.dto.AuthResponse;
+import com.enterprise.user_management.dto.UserResponseDTO;
+import com.enterprise.user_management.entity.RefreshToken;
+import com.enterprise.user_management.entity.User;
+import com.enterprise.user_management.repository.RefreshTokenRepository;
+import com.enterprise.user_management.repository.UserRepository;
+import com.enterprise.user_management.security.JwtUtil;
+import com.enterprise.user_management.security.TokenHasher;
+import com.enterprise.user_management.service.RefreshTokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+@Service
+@Transactional
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${jwt.refresh-expiration:2592000000}")
+    private Long refreshExpiration;
+
+    @Override
+    public String issueToken(Long userId) {
+        // getReferenceById avoids a SELECT; only the user_id foreign key is written
+        return createToken(userRepository.getReferenceById(userId), UUID.randomUUID().toString());
+    }
+
+    // noRollbackFor keeps a family revocation committed even though the refresh itself is rejected
+    @Override
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public AuthResponse rotate(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithUser(TokenHasher.sha256(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        if (current.getExpiresAt().isBefore(Instant.now())) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+
+        // A used or revoked token being presented again means it leaked: burn the whole family
+        if (refreshTokenRepository.markUsed(current.getId(), Instant.now()) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            log.warn("Refresh token reuse detected for user {}, family {} revoked",
+                    current.getUser().getUsername(), current.getFamilyId());
+            throw new BadCredentialsException("Refresh token reuse detected");
+        }
+
+        User user = current.getUser();
+        if (!user.getActive()) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            throw new BadCredentialsException("User account is deactivated");
+        }
+
+        String accessToken = jwtUtil.generateToken(user.getUsername(), user.getId(), user.getRole());
+        String nextRefreshToken = createToken(user, current.getFamilyId());
+        return new AuthResponse(accessToken, nextRefreshToken, UserResponseDTO.fromEntity(user));
+    }
+
+    @Override
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHashWithUser(TokenHasher.sha256(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-purge-interval:3600000}")
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    private String createToken(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant expiresAt = Instant.now().plusMillis(refreshExpiration);
+        refreshTokenRepository.save(new RefreshToken(TokenHasher.sha256(rawToken), familyId, user, expiresAt));
+        return rawToken;
+    }
+}
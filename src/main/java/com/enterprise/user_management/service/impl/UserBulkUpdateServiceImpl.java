@@ -0,0 +1,165 @@
+package com.enterprise.user_management.service.impl;
+
+import com.enterprise.user_management.dto.UserBulkTarget;
+import com.enterprise.user_management.dto.UserBulkUpdateRequest;
+import com.enterprise.user_management.dto.UserBulkUpdateResponse;
+import com.enterprise.user_management.enums.UserEventType;
+import com.enterprise.user_management.enums.UserRole;
+import com.enterprise.user_management.exception.BadRequestException;
+import com.enterprise.user_management.outbox.UserOutbox;
+import com.enterprise.user_management.repository.UserRepository;
+import com.enterprise.user_management.security.UserDetailsCache;
+import com.enterprise.user_management.service.UserBulkUpdateService;
+import com.enterprise.user_management.stats.UserCounters;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+
+// Bulk activate/deactivate/role change as one UPDATE per chunk of users, each chunk in its own
+// short transaction so a large selection never holds row locks for the whole operation
+@Service
+public class UserBulkUpdateServiceImpl implements UserBulkUpdateService {
+
+    @Value("${users.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private UserCounters userCounters;
+
+    @Autowired
+    private UserOutbox userOutbox;
+
+    @Override
+    public UserBulkUpdateResponse setActive(UserBulkUpdateRequest request, boolean active) {
+        return update(request, active ? UserEventType.ACTIVATED : UserEventType.DEACTIVATED,
+                state -> new UserCounters.CountedState(state.role(), active),
+                (ids, now) -> userRepository.updateActiveByIdIn(ids, active, now));
+    }
+
+    @Override
+    public UserBulkUpdateResponse changeRole(UserBulkUpdateRequest request) {
+        UserRole role = request.getRole();
+        if (role == null) {
+            throw new BadRequestException("A role change needs the new role");
+        }
+        return update(request, UserEventType.UPDATED,
+                state -> new UserCounters.CountedState(role, state.active()),
+                (ids, now) -> userRepository.updateRoleByIdIn(ids, role, now));
+    }
+
+    private UserBulkUpdateResponse update(UserBulkUpdateRequest request, UserEventType eventType,
+                                          UnaryOperator<UserCounters.CountedState> change,
+                                          BiFunction<List<Long>, LocalDateTime, Integer> statement) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byFilter = request.getFilter() != null && !request.getFilter().isEmpty();
+        if (byIds == byFilter) {
+            throw new BadRequestException("Select users with either a non-empty id list or a filter, not both");
+        }
+
+        ChunkUpdater updater = new ChunkUpdater(eventType, change, statement);
+        if (byIds) {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                transactionTemplate.executeWithoutResult(status ->
+                        updater.apply(userRepository.findBulkTargetsByIdIn(chunk)));
+            }
+        } else {
+            UserBulkUpdateRequest.Filter filter = request.getFilter();
+            String pattern = filter.getSearch() == null ? null : UserRepository.containsPattern(filter.getSearch());
+            long afterId = 0;
+            int read;
+            do {
+                long from = afterId;
+                List<UserBulkTarget> targets = transactionTemplate.execute(status -> {
+                    List<UserBulkTarget> chunk = userRepository.findBulkTargetsAfter(
+                            from, filter.getRole(), filter.getActive(), pattern, Limit.of(chunkSize));
+                    updater.apply(chunk);
+                    return chunk;
+                });
+                read = targets.size();
+                if (read > 0) {
+                    afterId = targets.get(read - 1).id();
+                }
+            } while (read == chunkSize);
+        }
+
+        // A concurrent write between a chunk's read and its UPDATE leaves the deltas uncertain;
+        // recount rather than let the counters drift until the next scheduled reconciliation
+        if (updater.countersUncertain) {
+            userCounters.reconcile();
+        }
+        return new UserBulkUpdateResponse(updater.matched, updater.affected);
+    }
+
+    private class ChunkUpdater {
+        private final UserEventType eventType;
+        private final UnaryOperator<UserCounters.CountedState> change;
+        private final BiFunction<List<Long>, LocalDateTime, Integer> statement;
+        private long matched;
+        private long affected;
+        private boolean countersUncertain;
+
+        ChunkUpdater(UserEventType eventType, UnaryOperator<UserCounters.CountedState> change,
+                     BiFunction<List<Long>, LocalDateTime, Integer> statement) {
+            this.eventType = eventType;
+            this.change = change;
+            this.statement = statement;
+        }
+
+        // Runs inside the chunk's transaction; cache evictions and counter deltas apply on commit,
+        // and the chunk's outbox events commit with its UPDATE
+        void apply(List<UserBulkTarget> targets) {
+            matched += targets.size();
+            List<Change> changes = new ArrayList<>(targets.size());
+            for (UserBulkTarget target : targets) {
+                UserCounters.CountedState before = target.countedState();
+                UserCounters.CountedState after = change.apply(before);
+                if (!before.equals(after)) {
+                    changes.add(new Change(target, before, after));
+                }
+            }
+            if (changes.isEmpty()) {
+                return;
+            }
+
+            List<Long> ids = changes.stream().map(c -> c.target().id()).toList();
+            // At the column's precision, so the read-back below can match the stamp exactly
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            int updated = statement.apply(ids, now);
+            affected += updated;
+            if (updated > 0) {
+                // Only rows this UPDATE changed carry its updatedAt; the guard skipped rows a concurrent
+                // writer had already moved, and the row locks keep anyone else from restamping them
+                userOutbox.recordAll(eventType, userRepository.findResponsesByIdInAndUpdatedAt(ids, now));
+            }
+            userDetailsCache.invalidateAll(changes.stream().map(c -> c.target().username()).toList());
+            if (updated == changes.size()) {
+                changes.forEach(c -> userCounters.recordChanged(c.before(), c.after()));
+            } else {
+                countersUncertain = true;
+            }
+        }
+    }
+
+    private record Change(UserBulkTarget target, UserCounters.CountedState before, UserCounters.CountedState after) {}
+}
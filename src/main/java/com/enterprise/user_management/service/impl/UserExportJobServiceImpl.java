@@ -0,0 +1,337 @@
+package com.enterprise.user_management.service.impl;
+
+import com.enterprise.user_management.dto.UserResponseDTO;
+import com.enterprise.user_management.exception.BadRequestException;
+import com.enterprise.user_management.exception.ResourceNotFoundException;
+import com.enterprise.user_management.export.ExportFormat;
+import com.enterprise.user_management.export.UserExportJob;
+import com.enterprise.user_management.export.UserExportWriter;
+import com.enterprise.user_management.repository.UserResponseRowMapper;
+import com.enterprise.user_management.service.UserExportJobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+// Full user exports for compliance dumps. The id space is split into fixed-size ranges and the ranges
+// are scanned in parallel on a dedicated fork-join pool, each streaming through a JDBC cursor into its
+// own gzip part file. Parallelism defaults to the cores, capped so the export leaves connections in
+// the pool for request traffic.
+@Service
+public class UserExportJobServiceImpl implements UserExportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserExportJobServiceImpl.class);
+
+    private static final String MANIFEST = "manifest.json";
+    private static final String RANGE_SQL = UserResponseRowMapper.SELECT_SQL + " WHERE id BETWEEN ? AND ? ORDER BY id";
+
+    @Value("${users.export.directory:${java.io.tmpdir}/user-exports}")
+    private String directory;
+
+    @Value("${users.export.range-size:100000}")
+    private long rangeSize;
+
+    @Value("${users.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${users.export.parallelism:0}")
+    private int parallelism;
+
+    @Value("${users.export.reserved-connections:4}")
+    private int reservedConnections;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    @Value("${users.export.scheduled-format:CSV}")
+    private ExportFormat scheduledFormat;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, UserExportJob> jobs = new ConcurrentHashMap<>();
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+
+    private Path root;
+    private ForkJoinPool pool;
+    private TransactionTemplate readOnlyTransaction;
+    private Timer partTimer;
+
+    @PostConstruct
+    void init() {
+        root = Paths.get(directory);
+        int workers = parallelism > 0
+                ? parallelism
+                : Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), connectionPoolSize - reservedConnections));
+        pool = new ForkJoinPool(workers, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("user-export-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+
+        // A cursor only streams on Postgres inside a transaction (autocommit off)
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        partTimer = Timer.builder("users.export.part.duration").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // Daily compliance dump when users.export.cron is set, e.g. "0 0 2 * * *"
+    @Scheduled(cron = "${users.export.cron:-}")
+    public void scheduledExport() {
+        UserExportJob job = startExport(scheduledFormat);
+        log.info("Started scheduled user export {} with {} parts", job.getId(), job.getParts().size());
+    }
+
+    @Override
+    public UserExportJob startExport(ExportFormat format) {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM users");
+        List<UserExportJob.Part> parts = new ArrayList<>();
+        if (bounds.get("min_id") != null) {
+            long minId = ((Number) bounds.get("min_id")).longValue();
+            long maxId = ((Number) bounds.get("max_id")).longValue();
+            int index = 1;
+            for (long fromId = minId; fromId <= maxId; fromId += rangeSize) {
+                parts.add(new UserExportJob.Part(index++, fromId, Math.min(fromId + rangeSize - 1, maxId)));
+            }
+        }
+
+        UserExportJob job = new UserExportJob(UUID.randomUUID().toString(), format, parts);
+        try {
+            Files.createDirectories(jobDirectory(job.getId()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        jobs.put(job.getId(), job);
+        runningJobs.add(job.getId());
+        writeManifest(job);
+        run(job);
+        return snapshot(job);
+    }
+
+    @Override
+    public UserExportJob getExport(String jobId) {
+        return snapshot(findJob(jobId));
+    }
+
+    @Override
+    public UserExportJob resumeExport(String jobId) {
+        UserExportJob job = findJob(jobId);
+        if (!runningJobs.add(jobId)) {
+            throw new BadRequestException("Export " + jobId + " is still running");
+        }
+
+        job.getLock().lock();
+        try {
+            // A DONE part whose file has gone missing is exported again too
+            for (UserExportJob.Part part : job.getParts()) {
+                if (part.getStatus() != UserExportJob.Part.Status.DONE
+                        || !Files.exists(jobDirectory(jobId).resolve(part.getFile()))) {
+                    part.setStatus(UserExportJob.Part.Status.PENDING);
+                    part.setRows(0);
+                    part.setFile(null);
+                    part.setError(null);
+                }
+            }
+            job.setStatus(UserExportJob.Status.RUNNING);
+            job.setFinishedAt(null);
+        } finally {
+            job.getLock().unlock();
+        }
+        writeManifest(job);
+        run(job);
+        return snapshot(job);
+    }
+
+    @Override
+    public Path getPartFile(String jobId, int partIndex) {
+        UserExportJob job = findJob(jobId);
+        job.getLock().lock();
+        try {
+            return job.getParts().stream()
+                    .filter(part -> part.getIndex() == partIndex && part.getStatus() == UserExportJob.Part.Status.DONE)
+                    .findFirst()
+                    .map(part -> jobDirectory(jobId).resolve(part.getFile()))
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "No finished part " + partIndex + " in export " + jobId));
+        } finally {
+            job.getLock().unlock();
+        }
+    }
+
+    private void run(UserExportJob job) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (UserExportJob.Part part : job.getParts()) {
+            if (part.getStatus() != UserExportJob.Part.Status.DONE) {
+                tasks.add(ForkJoinTask.adapt(() -> exportPart(job, part)));
+            }
+        }
+
+        // The coordinating task joins the parts from inside the pool, so its worker helps run them
+        pool.execute(() -> {
+            try {
+                ForkJoinTask.invokeAll(tasks);
+            } finally {
+                finish(job);
+            }
+        });
+    }
+
+    private void exportPart(UserExportJob job, UserExportJob.Part part) {
+        Path directory = jobDirectory(job.getId());
+        String fileName = job.getFormat().partFileName(part.getIndex());
+        Path target = directory.resolve(fileName);
+        Path temporary = directory.resolve(fileName + ".tmp");
+        long start = System.nanoTime();
+        try {
+            long rows;
+            try (OutputStream output = Files.newOutputStream(temporary);
+                 UserExportWriter writer = new UserExportWriter(output, job.getFormat(), objectMapper)) {
+                rows = readOnlyTransaction.execute(status -> exportRange(part, writer));
+            }
+            // Only complete files get the final name
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            updatePart(job, part, UserExportJob.Part.Status.DONE, rows, fileName, null);
+        } catch (RuntimeException | IOException e) {
+            log.warn("User export {} part {} failed", job.getId(), part.getIndex(), e);
+            updatePart(job, part, UserExportJob.Part.Status.FAILED, 0, null, e.getMessage());
+        } finally {
+            partTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private long exportRange(UserExportJob.Part part, UserExportWriter writer) {
+        long[] rows = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RANGE_SQL);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, part.getFromId());
+            statement.setLong(2, part.getToId());
+            return statement;
+        }, resultSet -> {
+            try {
+                writer.write(UserResponseRowMapper.INSTANCE.mapRow(resultSet, (int) rows[0]));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    private void updatePart(UserExportJob job, UserExportJob.Part part, UserExportJob.Part.Status status,
+                            long rows, String file, String error) {
+        job.getLock().lock();
+        try {
+            part.setStatus(status);
+            part.setRows(rows);
+            part.setFile(file);
+            part.setError(error);
+        } finally {
+            job.getLock().unlock();
+        }
+        writeManifest(job);
+    }
+
+    private void finish(UserExportJob job) {
+        job.getLock().lock();
+        try {
+            boolean complete = job.getParts().stream()
+                    .allMatch(part -> part.getStatus() == UserExportJob.Part.Status.DONE);
+            job.setStatus(complete ? UserExportJob.Status.COMPLETED : UserExportJob.Status.FAILED);
+            job.setFinishedAt(LocalDateTime.now());
+        } finally {
+            job.getLock().unlock();
+        }
+        writeManifest(job);
+        runningJobs.remove(job.getId());
+        meterRegistry.counter("users.export.jobs", "status", job.getStatus().name().toLowerCase(Locale.ROOT)).increment();
+    }
+
+    // Written to a temporary file and moved into place, so a crash never leaves a torn manifest
+    private void writeManifest(UserExportJob job) {
+        Path manifest = jobDirectory(job.getId()).resolve(MANIFEST);
+        Path temporary = jobDirectory(job.getId()).resolve(MANIFEST + ".tmp");
+        job.getLock().lock();
+        try {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(temporary.toFile(), job);
+            Files.move(temporary, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            job.getLock().unlock();
+        }
+    }
+
+    // Jobs started before a restart are only on disk; loading one makes it resumable here
+    private UserExportJob findJob(String jobId) {
+        try {
+            UUID.fromString(jobId);
+        } catch (IllegalArgumentException e) {
+            throw new ResourceNotFoundException("Export not found: " + jobId);
+        }
+        return jobs.computeIfAbsent(jobId, id -> {
+            Path manifest = jobDirectory(id).resolve(MANIFEST);
+            if (!Files.exists(manifest)) {
+                throw new ResourceNotFoundException("Export not found: " + id);
+            }
+            try {
+                return objectMapper.readValue(manifest.toFile(), UserExportJob.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private UserExportJob snapshot(UserExportJob job) {
+        job.getLock().lock();
+        try {
+            return objectMapper.convertValue(job, UserExportJob.class);
+        } finally {
+            job.getLock().unlock();
+        }
+    }
+
+    private Path jobDirectory(String jobId) {
+        return root.resolve(jobId);
+    }
+}
@@ -0,0 +1,268 @@
+package com.enterprise.user_management.service.impl;
+
+import com.enterprise.user_management.dto.UserCreateDTO;
+import com.enterprise.user_management.dto.UserImportResult;
+import com.enterprise.user_management.dto.UserImportSummary;
+import com.enterprise.user_management.dto.UserResponseDTO;
+import com.enterprise.user_management.entity.User;
+import com.enterprise.user_management.enums.UserEventType;
+import com.enterprise.user_management.importer.UserImportRow;
+import com.enterprise.user_management.outbox.UserOutbox;
+import com.enterprise.user_management.repository.UserRepository;
+import com.enterprise.user_management.search.UserSearchIndex;
+import com.enterprise.user_management.security.BoundedPasswordEncoder;
+import com.enterprise.user_management.service.UserImportService;
+import com.enterprise.user_management.stats.UserCounters;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// Imports users chunk by chunk: validate, de-duplicate against the chunk and then the table with two
+// IN queries, hash passwords in parallel, and write the chunk as one JDBC batch in one transaction.
+// Only the current chunk is held in memory, however large the input.
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    static final String INSERT_SQL = "INSERT INTO users " +
+            "(username, email, password, first_name, last_name, phone, role, active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Value("${users.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserCounters userCounters;
+
+    @Autowired
+    private UserOutbox userOutbox;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public UserImportSummary importUsers(Iterator<UserImportRow> rows, Consumer<List<UserImportResult>> report) {
+        UserImportSummary summary = new UserImportSummary();
+        List<UserImportRow> chunk = new ArrayList<>(chunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, report, summary);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report, summary);
+        }
+        return summary;
+    }
+
+    private void importChunk(List<UserImportRow> chunk, Consumer<List<UserImportResult>> report, UserImportSummary summary) {
+        UserImportResult[] results = new UserImportResult[chunk.size()];
+        List<Candidate> candidates = new ArrayList<>(chunk.size());
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            UserImportRow row = chunk.get(i);
+            UserCreateDTO user = row.user();
+            String error = row.error() != null ? row.error() : validate(user);
+            if (error == null && usernames.contains(user.getUsername())) {
+                error = "Duplicate username in import: " + user.getUsername();
+            } else if (error == null && emails.contains(user.getEmail())) {
+                error = "Duplicate email in import: " + user.getEmail();
+            }
+
+            if (error != null) {
+                results[i] = UserImportResult.rejected(row.line(), user == null ? null : user.getUsername(), error);
+            } else {
+                usernames.add(user.getUsername());
+                emails.add(user.getEmail());
+                candidates.add(new Candidate(i, row.line(), user));
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            candidates = rejectExisting(candidates, usernames, emails, results);
+        }
+        if (!candidates.isEmpty()) {
+            insert(candidates, results);
+        }
+
+        long accepted = 0;
+        for (UserImportResult result : results) {
+            if (result.getStatus() == UserImportResult.Status.ACCEPTED) {
+                accepted++;
+            }
+        }
+        report.accept(Arrays.asList(results));
+        summary.setAccepted(summary.getAccepted() + accepted);
+        summary.setRejected(summary.getRejected() + results.length - accepted);
+        meterRegistry.counter("users.import.rows", "result", "accepted").increment(accepted);
+        meterRegistry.counter("users.import.rows", "result", "rejected").increment(results.length - accepted);
+    }
+
+    private String validate(UserCreateDTO user) {
+        Set<ConstraintViolation<UserCreateDTO>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private List<Candidate> rejectExisting(List<Candidate> candidates, Set<String> usernames, Set<String> emails,
+                                           UserImportResult[] results) {
+        Set<String> existingUsernames = userRepository.findExistingUsernames(usernames);
+        Set<String> existingEmails = userRepository.findExistingEmails(emails);
+        if (existingUsernames.isEmpty() && existingEmails.isEmpty()) {
+            return candidates;
+        }
+
+        List<Candidate> remaining = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            UserCreateDTO user = candidate.user();
+            if (existingUsernames.contains(user.getUsername())) {
+                results[candidate.index()] = UserImportResult.rejected(candidate.line(), user.getUsername(),
+                        "Username already exists: " + user.getUsername());
+            } else if (existingEmails.contains(user.getEmail())) {
+                results[candidate.index()] = UserImportResult.rejected(candidate.line(), user.getUsername(),
+                        "Email already exists: " + user.getEmail());
+            } else {
+                remaining.add(candidate);
+            }
+        }
+        return remaining;
+    }
+
+    private void insert(List<Candidate> candidates, UserImportResult[] results) {
+        List<String> encodedPasswords = encodeAll(candidates.stream().map(c -> c.user().getPassword()).toList());
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            users.add(toEntity(candidates.get(i).user(), encodedPasswords.get(i), now));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(users));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent writer took a name between the check and the batch; find it row by row
+            for (int i = 0; i < candidates.size(); i++) {
+                Candidate candidate = candidates.get(i);
+                List<User> single = List.of(users.get(i));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertBatch(single));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    results[candidate.index()] = UserImportResult.rejected(candidate.line(),
+                            candidate.user().getUsername(), "Username or email already exists");
+                }
+            }
+        }
+
+        for (int i = 0; i < candidates.size(); i++) {
+            Candidate candidate = candidates.get(i);
+            if (results[candidate.index()] == null) {
+                results[candidate.index()] = UserImportResult.accepted(candidate.line(),
+                        candidate.user().getUsername(), users.get(i).getId());
+            }
+        }
+    }
+
+    // Runs inside the chunk's transaction, so the index and counter updates apply on commit and
+    // the CREATED events commit with the rows
+    private void insertBatch(List<User> users) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        User user = users.get(i);
+                        ps.setString(1, user.getUsername());
+                        ps.setString(2, user.getEmail());
+                        ps.setString(3, user.getPassword());
+                        ps.setString(4, user.getFirstName());
+                        ps.setString(5, user.getLastName());
+                        ps.setString(6, user.getPhone());
+                        ps.setString(7, user.getRole().name());
+                        ps.setBoolean(8, user.getActive());
+                        ps.setTimestamp(9, Timestamp.valueOf(user.getCreatedAt()));
+                        ps.setTimestamp(10, Timestamp.valueOf(user.getUpdatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return users.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            user.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            userSearchIndex.index(user);
+            userCounters.recordCreated(user);
+        }
+        userOutbox.recordAll(UserEventType.CREATED, users.stream().map(UserResponseDTO::fromEntity).toList());
+    }
+
+    // The shared BCrypt pool keeps security.bcrypt.reserved-workers out of reach of our hashes, so logins
+    // always find a worker however large the import
+    private List<String> encodeAll(List<String> rawPasswords) {
+        if (passwordEncoder instanceof BoundedPasswordEncoder boundedPasswordEncoder) {
+            return boundedPasswordEncoder.encodeAll(rawPasswords);
+        }
+        return rawPasswords.stream().map(passwordEncoder::encode).toList();
+    }
+
+    private User toEntity(UserCreateDTO dto, String encodedPassword, LocalDateTime now) {
+        User user = new User(dto.getUsername(), dto.getEmail(), encodedPassword, dto.getRole());
+        user.setFirstName(dto.getFirstName());
+        user.setLastName(dto.getLastName());
+        user.setPhone(dto.getPhone());
+        user.setActive(true);
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        return user;
+    }
+
+    private record Candidate(int index, long line, UserCreateDTO user) {}
+}
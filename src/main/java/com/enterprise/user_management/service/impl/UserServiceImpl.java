@@ -1,48 +1,95 @@
 package com.enterprise.user_management.service.impl;
 
+import com.enterprise.user_management.datasource.HedgedReadExecutor;
+import com.enterprise.user_management.dto.ScrollResponse;
 import com.enterprise.user_management.dto.UserCreateDTO;
 import com.enterprise.user_management.dto.UserResponseDTO;
+import com.enterprise.user_management.dto.UserRow;
 import com.enterprise.user_management.dto.UserUpdateDTO;
 import com.enterprise.user_management.entity.User;
+import com.enterprise.user_management.enums.UserEventType;
 import com.enterprise.user_management.enums.UserRole;
+import com.enterprise.user_management.exception.BadRequestException;
 import com.enterprise.user_management.exception.DuplicateResourceException;
 import com.enterprise.user_management.exception.ResourceNotFoundException;
+import com.enterprise.user_management.outbox.UserOutbox;
+import com.enterprise.user_management.pagination.UserCursor;
+import com.enterprise.user_management.pagination.UserSortField;
 import com.enterprise.user_management.repository.UserRepository;
+import com.enterprise.user_management.repository.UserResponseRowMapper;
+import com.enterprise.user_management.search.UserSearchIndex;
+import com.enterprise.user_management.security.UserDetailsCache;
 import com.enterprise.user_management.service.UserService;
+import com.enterprise.user_management.stats.UserCounters;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.authentication.BadCredentialsException;
 import com.enterprise.user_management.dto.PasswordChangeRequest;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    // Hedged single-row reads run as plain JDBC on the replica pools, outside the JPA session
+    private static final String RESPONSE_BY_ID_SQL = UserResponseRowMapper.SELECT_SQL + " WHERE id = ?";
+    private static final String RESPONSE_BY_USERNAME_SQL = UserResponseRowMapper.SELECT_SQL + " WHERE username = ?";
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    @Override
-    public UserResponseDTO createUser(UserCreateDTO userCreateDTO) {
-        // Check for duplicate username
-        if (userRepository.existsByUsername(userCreateDTO.getUsername())) {
-            throw new DuplicateResourceException("Username already exists: " + userCreateDTO.getUsername());
-        }
+    @Autowired
+    private UserDetailsCache userDetailsCache;
 
-        // Check for duplicate email
-        if (userRepository.existsByEmail(userCreateDTO.getEmail())) {
-            throw new DuplicateResourceException("Email already exists: " + userCreateDTO.getEmail());
-        }
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserCounters userCounters;
+
+    @Autowired
+    private HedgedReadExecutor hedgedReadExecutor;
+
+    @Autowired
+    private UserOutbox userOutbox;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
+    @Override
+    public UserResponseDTO createUser(UserCreateDTO userCreateDTO) {
         // Create new user entity
         User user = new User();
         user.setUsername(userCreateDTO.getUsername());
@@ -54,45 +101,116 @@ public class UserServiceImpl implements UserService {
         user.setRole(userCreateDTO.getRole());
         user.setActive(true);
 
-        User savedUser = userRepository.save(user);
-        return convertToResponseDTO(savedUser);
+        // The unique constraints are the duplicate check: one INSERT, and concurrent
+        // registrations for the same name cannot both succeed
+        try {
+            User savedUser = userRepository.saveAndFlush(user);
+            userSearchIndex.index(savedUser);
+            userCounters.recordCreated(savedUser);
+            userOutbox.record(UserEventType.CREATED, savedUser);
+            return convertToResponseDTO(savedUser);
+        } catch (DataIntegrityViolationException e) {
+            throw toDuplicateResourceException(e, user);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserResponseDTO getUserById(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
-        return convertToResponseDTO(user);
+        Optional<UserResponseDTO> user;
+        if (hedgedReadExecutor.isEnabled()) {
+            // As by username: a cached user needs no database, only a miss is hedged
+            user = userRepository.findCachedById(id).map(UserResponseDTO::fromEntity);
+            if (user.isEmpty()) {
+                user = hedgedReadExecutor.queryForOptional(RESPONSE_BY_ID_SQL, UserResponseRowMapper.INSTANCE, id);
+            }
+        } else {
+            user = userRepository.findResponseById(id);
+        }
+        return user.orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserResponseDTO getUserByUsername(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
-        return convertToResponseDTO(user);
+        Optional<UserResponseDTO> user;
+        if (hedgedReadExecutor.isEnabled()) {
+            // A cached user needs no database at all; only a miss is worth hedging
+            user = userRepository.findCachedByUsername(username).map(UserResponseDTO::fromEntity);
+            if (user.isEmpty()) {
+                user = hedgedReadExecutor.queryForOptional(RESPONSE_BY_USERNAME_SQL, UserResponseRowMapper.INSTANCE, username);
+            }
+        } else {
+            // Natural-id lookup, served from the second-level cache once the user has been loaded
+            user = userRepository.findByUsername(username).map(UserResponseDTO::fromEntity);
+        }
+        return user.orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<UserResponseDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return userRepository.findAllResponses();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<UserResponseDTO> getAllUsers(Pageable pageable) {
-        return userRepository.findAll(pageable)
-                .map(this::convertToResponseDTO);
+    public long streamAllUsers(Consumer<UserResponseDTO> consumer) {
+        long count = 0;
+        try (Stream<User> users = userRepository.streamAllOrderedById()) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                consumer.accept(convertToResponseDTO(user));
+                // Keeps the persistence context at one entity however many rows are exported
+                entityManager.detach(user);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ScrollResponse<UserResponseDTO> getAllUsers(Pageable pageable, boolean includeTotal) {
+        // A Slice reads one extra row to answer hasNext; only a Page runs the COUNT
+        Slice<UserResponseDTO> users = includeTotal
+                ? userRepository.findResponsePage(pageable)
+                : userRepository.findResponseSlice(pageable);
+        String nextCursor = users.hasNext() && pageable.getSort().isSorted()
+                ? UserCursor.after(users.getContent().get(users.getNumberOfElements() - 1), pageable.getSort()).encode()
+                : null;
+        return toScrollResponse(users, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ScrollResponse<UserResponseDTO> scrollUsers(UserSortField sortField, Sort.Direction direction,
+                                                       String cursor, int size) {
+        ScrollPosition position = ScrollPosition.keyset();
+        if (cursor != null && !cursor.isBlank()) {
+            UserCursor after = UserCursor.decode(cursor);
+            if (after.sortField() != sortField || after.direction() != direction) {
+                throw new BadRequestException("Cursor was issued for a different sort order");
+            }
+            position = after.position();
+        }
+
+        Window<UserRow> window = userRepository.findBy(position, sortField.sort(direction), Limit.of(size));
+        List<UserResponseDTO> content = window.stream()
+                .map(UserRow::toResponseDTO)
+                .collect(Collectors.toList());
+        String nextCursor = window.hasNext()
+                ? UserCursor.after(content.get(content.size() - 1), sortField, direction).encode()
+                : null;
+        return new ScrollResponse<>(content, window.hasNext(), nextCursor);
     }
 
     @Override
     public UserResponseDTO updateUser(Long id, UserUpdateDTO userUpdateDTO) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        UserCounters.CountedState before = UserCounters.CountedState.of(user);
 
         // Check for duplicate email if email is being updated
         if (userUpdateDTO.getEmail() != null && !userUpdateDTO.getEmail().equals(user.getEmail())) {
@@ -120,6 +238,10 @@ public class UserServiceImpl implements UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        userDetailsCache.invalidate(user.getUsername());
+        userSearchIndex.index(updatedUser);
+        userCounters.recordChanged(before, updatedUser);
+        userOutbox.record(UserEventType.UPDATED, updatedUser);
         return convertToResponseDTO(updatedUser);
     }
 
@@ -127,56 +249,85 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        userOutbox.record(UserEventType.DELETED, user);
         userRepository.delete(user);
+        userDetailsCache.invalidate(user.getUsername());
+        userSearchIndex.remove(user.getId());
+        userCounters.recordDeleted(user);
     }
 
     @Override
     public void activateUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        UserCounters.CountedState before = UserCounters.CountedState.of(user);
         user.setActive(true);
         userRepository.save(user);
+        userDetailsCache.invalidate(user.getUsername());
+        userCounters.recordChanged(before, user);
+        userOutbox.record(UserEventType.ACTIVATED, user);
     }
 
     @Override
     public void deactivateUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        UserCounters.CountedState before = UserCounters.CountedState.of(user);
         user.setActive(false);
         userRepository.save(user);
+        userDetailsCache.invalidate(user.getUsername());
+        userCounters.recordChanged(before, user);
+        userOutbox.record(UserEventType.DEACTIVATED, user);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<UserResponseDTO> getUsersByRole(UserRole role) {
-        return userRepository.findByRole(role).stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return userRepository.findResponsesByRole(role);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<UserResponseDTO> searchUsers(String search, Pageable pageable) {
-        return userRepository.findBySearchCriteria(search, pageable)
-                .map(this::convertToResponseDTO);
+    public ScrollResponse<UserResponseDTO> searchUsers(String search, Pageable pageable, boolean includeTotal) {
+        UserSearchIndex.SearchHits hits = userSearchIndex.search(search, pageable.getOffset(), pageable.getPageSize());
+        if (hits == null) {
+            String pattern = UserRepository.containsPattern(search);
+            Slice<UserResponseDTO> users = includeTotal
+                    ? userRepository.searchResponsePage(pattern, pageable)
+                    : userRepository.searchResponseSlice(pattern, pageable);
+            return toScrollResponse(users, null);
+        }
+
+        // The index ranks and pages; the page itself is one primary-key fetch, reordered by rank
+        Map<Long, UserResponseDTO> users = userRepository.findResponsesByIdIn(hits.ids()).stream()
+                .collect(Collectors.toMap(UserResponseDTO::getId, Function.identity()));
+        List<UserResponseDTO> content = hits.ids().stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        boolean hasNext = pageable.getOffset() + hits.ids().size() < hits.total();
+        return new ScrollResponse<>(content, hasNext, null, includeTotal ? hits.total() : null);
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getTotalUserCount() {
-        return userRepository.count();
+        UserCounters.UserStats stats = userCounters.snapshot();
+        return stats != null ? stats.total() : userRepository.count();
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getActiveUserCount() {
-        return userRepository.countActiveUsers();
+        UserCounters.UserStats stats = userCounters.snapshot();
+        return stats != null ? stats.active() : userRepository.countActiveUsers();
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getUserCountByRole(UserRole role) {
-        return userRepository.countByRole(role);
+        UserCounters.UserStats stats = userCounters.snapshot();
+        return stats != null ? stats.countByRole(role) : userRepository.countByRole(role);
     }
 
     @Override
@@ -192,23 +343,49 @@ public class UserServiceImpl implements UserService {
         // Update password
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         User updatedUser = userRepository.save(user);
+        userDetailsCache.invalidate(user.getUsername());
+        userOutbox.record(UserEventType.PASSWORD_CHANGED, updatedUser);
 
         return convertToResponseDTO(updatedUser);
     }
 
+    private RuntimeException toDuplicateResourceException(DataIntegrityViolationException e, User user) {
+        String violated = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName()
+                : String.valueOf(e.getMostSpecificCause().getMessage());
+        violated = violated.toLowerCase(Locale.ROOT);
+
+        if (violated.contains(User.USERNAME_CONSTRAINT)) {
+            return new DuplicateResourceException("Username already exists: " + user.getUsername());
+        }
+        if (violated.contains(User.EMAIL_CONSTRAINT)) {
+            return new DuplicateResourceException("Email already exists: " + user.getEmail());
+        }
+
+        // Schemas created before the constraints were named carry generated names; ask the table
+        // instead. In a new transaction, since Postgres has aborted the one the insert failed in.
+        TransactionTemplate lookup = new TransactionTemplate(transactionManager);
+        lookup.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        RuntimeException duplicate = lookup.execute(status -> {
+            if (userRepository.existsByUsername(user.getUsername())) {
+                return new DuplicateResourceException("Username already exists: " + user.getUsername());
+            }
+            if (userRepository.existsByEmail(user.getEmail())) {
+                return new DuplicateResourceException("Email already exists: " + user.getEmail());
+            }
+            return null;
+        });
+        return duplicate != null ? duplicate : e;
+    }
+
+    private ScrollResponse<UserResponseDTO> toScrollResponse(Slice<UserResponseDTO> users, String nextCursor) {
+        Long totalElements = users instanceof Page<UserResponseDTO> page ? page.getTotalElements() : null;
+        return new ScrollResponse<>(users.getContent(), users.hasNext(), nextCursor, totalElements);
+    }
+
     // Helper method to convert Entity to DTO
     private UserResponseDTO convertToResponseDTO(User user) {
-        return new UserResponseDTO(
-                user.getId(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getFirstName(),
-                user.getLastName(),
-                user.getPhone(),
-                user.getRole(),
-                user.getActive(),
-                user.getCreatedAt(),
-                user.getUpdatedAt()
-        );
+        return UserResponseDTO.fromEntity(user);
     }
 }
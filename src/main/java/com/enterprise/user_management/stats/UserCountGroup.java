@@ -0,0 +1,7 @@
+package com.enterprise.user_management.stats;
+
+import com.enterprise.user_management.enums.UserRole;
+
+// One row of the grouped reconciliation count
+public record UserCountGroup(UserRole role, Boolean active, long count) {
+}
@@ -0,0 +1,164 @@
+package com.enterprise.user_management.stats;
+
+import com.enterprise.user_management.entity.User;
+import com.enterprise.user_management.enums.UserRole;
+import com.enterprise.user_management.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-memory user totals for /api/users/stats. Writes adjust them after commit; a grouped
+// count replaces them at startup and on a schedule, which also corrects any drift from
+// writes that bypass UserServiceImpl or race with the reconciliation query.
+@Component
+public class UserCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCounters.class);
+
+    @Value("${users.stats.counters.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong active = new AtomicLong();
+    private final Map<UserRole, AtomicLong> byRole = new EnumMap<>(UserRole.class);
+    private volatile boolean ready;
+
+    private Counter drift;
+
+    @PostConstruct
+    void init() {
+        for (UserRole role : UserRole.values()) {
+            byRole.put(role, new AtomicLong());
+        }
+        drift = Counter.builder("users.stats.drift")
+                .description("Users by which the live counters differed from a reconciliation count")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${users.stats.counters.reconcile-interval:300000}",
+            initialDelayString = "${users.stats.counters.reconcile-interval:300000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+
+        List<UserCountGroup> groups = userRepository.countGroupedByRoleAndActive();
+        long newTotal = 0;
+        long newActive = 0;
+        Map<UserRole, Long> newByRole = new EnumMap<>(UserRole.class);
+        for (UserCountGroup group : groups) {
+            newTotal += group.count();
+            if (Boolean.TRUE.equals(group.active())) {
+                newActive += group.count();
+            }
+            newByRole.merge(group.role(), group.count(), Long::sum);
+        }
+
+        long difference = Math.abs(total.getAndSet(newTotal) - newTotal)
+                + Math.abs(active.getAndSet(newActive) - newActive);
+        for (UserRole role : UserRole.values()) {
+            long count = newByRole.getOrDefault(role, 0L);
+            difference += Math.abs(byRole.get(role).getAndSet(count) - count);
+        }
+        if (ready && difference > 0) {
+            drift.increment(difference);
+            log.debug("Reconciled user counters, corrected a drift of {}", difference);
+        }
+        ready = true;
+    }
+
+    public void recordCreated(User user) {
+        apply(null, CountedState.of(user));
+    }
+
+    public void recordDeleted(User user) {
+        apply(CountedState.of(user), null);
+    }
+
+    // `before` must be captured before the entity is modified
+    public void recordChanged(CountedState before, User after) {
+        apply(before, CountedState.of(after));
+    }
+
+    public void recordChanged(CountedState before, CountedState after) {
+        apply(before, after);
+    }
+
+    // Null until the first reconciliation, or when the counters are disabled
+    public UserStats snapshot() {
+        if (!enabled || !ready) {
+            return null;
+        }
+        Map<UserRole, Long> roles = new EnumMap<>(UserRole.class);
+        byRole.forEach((role, count) -> roles.put(role, count.get()));
+        return new UserStats(total.get(), active.get(), roles);
+    }
+
+    private void apply(CountedState before, CountedState after) {
+        if (!enabled || (before != null && before.equals(after))) {
+            return;
+        }
+        Runnable update = () -> {
+            if (before != null) {
+                adjust(before, -1);
+            }
+            if (after != null) {
+                adjust(after, 1);
+            }
+        };
+
+        // Rolled-back writes never touch the counters
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private void adjust(CountedState state, long delta) {
+        total.addAndGet(delta);
+        if (state.active()) {
+            active.addAndGet(delta);
+        }
+        byRole.get(state.role()).addAndGet(delta);
+    }
+
+    public record CountedState(UserRole role, boolean active) {
+        public static CountedState of(User user) {
+            return new CountedState(user.getRole(), Boolean.TRUE.equals(user.getActive()));
+        }
+    }
+
+    public record UserStats(long total, long active, Map<UserRole, Long> byRole) {
+        public long countByRole(UserRole role) {
+            return byRole.getOrDefault(role, 0L);
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package com.enterprise.user_management.controller;
 
 import com.enterprise.user_management.dto.AuthRequest;
+import com.enterprise.user_management.dto.RefreshTokenRequest;
+import com.enterprise.user_management.dto.TokenValidationBatchRequest;
 import com.enterprise.user_management.dto.UserCreateDTO;
 import com.enterprise.user_management.entity.User;
 import com.enterprise.user_management.enums.UserRole;
 import com.enterprise.user_management.repository.UserRepository;
+import com.enterprise.user_management.security.JwtUtil;
+import com.enterprise.user_management.util.SqlStatementCounter;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
@@ -19,6 +26,11 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +53,15 @@ class AuthControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Value("${jwt.validation.batch-max-tokens}")
+    private int batchMaxTokens;
+
     private MockMvc mockMvc;
 
     @BeforeEach
@@ -101,6 +122,23 @@ class AuthControllerIntegrationTest {
                 .andExpect(jsonPath("$.message").value("Username already exists: loginuser"));
     }
 
+    @Test
+    void register_WithDuplicateEmail_ShouldReturnConflict() throws Exception {
+        UserCreateDTO registerRequest = new UserCreateDTO();
+        registerRequest.setUsername("differentuser");
+        registerRequest.setEmail("login@example.com"); // Already exists
+        registerRequest.setPassword("password123");
+        registerRequest.setFirstName("Duplicate");
+        registerRequest.setLastName("User");
+        registerRequest.setRole(UserRole.USER);
+
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Email already exists: login@example.com"));
+    }
+
     @Test
     void login_WithValidCredentials_ShouldReturnTokenAndUser() throws Exception {
         AuthRequest loginRequest = new AuthRequest();
@@ -117,6 +155,40 @@ class AuthControllerIntegrationTest {
                 .andExpect(jsonPath("$.user.email").value("login@example.com"));
     }
 
+    @Test
+    void login_WithValidCredentials_ShouldQueryUserOnce() throws Exception {
+        AuthRequest loginRequest = new AuthRequest();
+        loginRequest.setUsername("loginuser");
+        loginRequest.setPassword("password123");
+        // The saved user is still in the test's persistence context; detach it so the lookup has to load it
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+
+        assertEquals(1, SqlStatementCounter.countSelectsFrom("users"));
+    }
+
+    @Test
+    void login_WithDeactivatedUser_ShouldReturnUnauthorized() throws Exception {
+        User user = userRepository.findByUsername("loginuser").orElseThrow();
+        user.setActive(false);
+        userRepository.save(user);
+
+        AuthRequest loginRequest = new AuthRequest();
+        loginRequest.setUsername("loginuser");
+        loginRequest.setPassword("password123");
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     void login_WithInvalidUsername_ShouldReturnUnauthorized() throws Exception {
         AuthRequest loginRequest = new AuthRequest();
@@ -166,4 +238,141 @@ class AuthControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void logout_ShouldRevokeToken() throws Exception {
+        String token = jwtUtil.generateTokenSimple("loginuser");
+
+        mockMvc.perform(post("/api/auth/validate")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true));
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Successfully logged out"));
+
+        mockMvc.perform(post("/api/auth/validate")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(false));
+    }
+
+    @Test
+    void logout_WithInvalidToken_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer invalid.jwt.token"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Failed to logout"));
+    }
+
+    @Test
+    void refresh_WithRefreshToken_ShouldRotateToken() throws Exception {
+        String refreshToken = loginAndGetRefreshToken();
+
+        String body = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.refreshToken").exists())
+                .andExpect(jsonPath("$.user.username").value("loginuser"))
+                .andReturn().getResponse().getContentAsString();
+
+        String rotated = objectMapper.readTree(body).get("refreshToken").asText();
+        assertNotEquals(refreshToken, rotated);
+    }
+
+    @Test
+    void refresh_WithReusedRefreshToken_ShouldRevokeWholeFamily() throws Exception {
+        String refreshToken = loginAndGetRefreshToken();
+
+        String body = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String rotated = objectMapper.readTree(body).get("refreshToken").asText();
+
+        // Replaying the first token is treated as theft
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken))))
+                .andExpect(status().isUnauthorized());
+
+        // ...which also invalidates the token handed out by the legitimate rotation
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest(rotated))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refresh_WithUnknownRefreshToken_ShouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest("not-a-real-token"))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void validateBatch_ShouldReportEachTokenAndLoadUsersOnce() throws Exception {
+        String token = jwtUtil.generateToken("loginuser", null, UserRole.USER);
+        String ghostToken = jwtUtil.generateToken("ghost", null, UserRole.USER);
+        TokenValidationBatchRequest batchRequest =
+                new TokenValidationBatchRequest(List.of(token, "not-a-jwt", token, ghostToken));
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(post("/api/auth/validate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].valid").value(true))
+                .andExpect(jsonPath("$[0].username").value("loginuser"))
+                .andExpect(jsonPath("$[0].role").value("USER"))
+                .andExpect(jsonPath("$[0].expiresAt").exists())
+                .andExpect(jsonPath("$[1].valid").value(false))
+                .andExpect(jsonPath("$[2].valid").value(true))
+                .andExpect(jsonPath("$[3].valid").value(false));
+
+        assertEquals(1, SqlStatementCounter.countSelectsFrom("users"));
+    }
+
+    @Test
+    void validateBatch_WithTooManyTokens_ShouldReturnBadRequest() throws Exception {
+        List<String> tokens = Collections.nCopies(batchMaxTokens + 1, "token");
+
+        mockMvc.perform(post("/api/auth/validate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TokenValidationBatchRequest(tokens))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("At most " + batchMaxTokens + " tokens per batch"));
+    }
+
+    @Test
+    void validateBatch_AtTheLimit_ShouldValidateEveryToken() throws Exception {
+        List<String> tokens = Collections.nCopies(batchMaxTokens, "token");
+
+        mockMvc.perform(post("/api/auth/validate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TokenValidationBatchRequest(tokens))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(batchMaxTokens));
+    }
+
+    private String loginAndGetRefreshToken() throws Exception {
+        AuthRequest loginRequest = new AuthRequest("loginuser", "password123");
+
+        String body = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refreshToken").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode json = objectMapper.readTree(body);
+        return json.get("refreshToken").asText();
+    }
+}
@@ -4,6 +4,9 @@ import com.enterprise.user_management.entity.User;
 import com.enterprise.user_management.enums.UserRole;
 import com.enterprise.user_management.repository.UserRepository;
 import com.enterprise.user_management.security.JwtUtil;
+import com.enterprise.user_management.service.UserImportService;
+import com.enterprise.user_management.util.SqlStatementCounter;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,11 +16,19 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -43,6 +54,9 @@ class UserControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private UserImportService userImportService;
+
     private MockMvc mockMvc;
     private User testUser;
     private User adminUser;
@@ -110,6 +124,20 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$.email").value(testUser.getEmail()));
     }
 
+    @Test
+    void getUserById_ShouldSelectOnlyResponseColumns() throws Exception {
+        // No token, so the JWT filter does not load the user itself
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/api/users/" + testUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value(testUser.getUsername()))
+                .andExpect(jsonPath("$.password").doesNotExist());
+
+        assertEquals(1, SqlStatementCounter.countSelectsFrom("users"));
+        assertEquals(0, SqlStatementCounter.countContaining("password"));
+    }
+
     @Test
     void getUserById_WithValidTokenButNonExistentUser_ShouldReturnNotFound() throws Exception {
         mockMvc.perform(get("/api/users/999")
@@ -174,4 +202,328 @@ class UserControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("User deleted successfully"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void scrollUsers_ShouldWalkEveryUserInOrderWithoutOffset() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            createAndSaveUser("scroll" + i, "scroll" + i + "@example.com", UserRole.USER);
+        }
+        SqlStatementCounter.reset();
+
+        List<String> usernames = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/users/scroll")
+                    .header("Authorization", "Bearer " + userToken)
+                    .param("size", "2")
+                    .param("sortBy", "username")
+                    .param("sortDir", "desc");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            JsonNode page = objectMapper.readTree(body);
+            page.get("content").forEach(user -> usernames.add(user.get("username").asText()));
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        assertEquals(List.of("testuser", "scroll4", "scroll3", "scroll2", "scroll1", "scroll0", "adminuser"), usernames);
+        assertEquals(0, SqlStatementCounter.countContaining(" offset "));
+    }
+
+    @Test
+    void scrollUsers_WithCursorForAnotherSort_ShouldReturnBadRequest() throws Exception {
+        String body = mockMvc.perform(get("/api/users/scroll")
+                        .header("Authorization", "Bearer " + userToken)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/users/scroll")
+                        .header("Authorization", "Bearer " + userToken)
+                        .param("cursor", cursor)
+                        .param("sortBy", "email"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void scrollUsers_WithMalformedCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/users/scroll")
+                        .header("Authorization", "Bearer " + userToken)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    void getAllUsersPaged_WithUnsupportedSortField_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/users")
+                        .header("Authorization", "Bearer " + userToken)
+                        .param("sortBy", "password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllUsersPaged_ShouldCountOnlyWhenAsked() throws Exception {
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/users")
+                        .header("Authorization", "Bearer " + userToken)
+                        .param("size", "1")
+                        .param("sortBy", "username"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].username").value("adminuser"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").exists())
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+        assertEquals(0, SqlStatementCounter.countContaining("count("));
+
+        mockMvc.perform(get("/api/users")
+                        .header("Authorization", "Bearer " + userToken)
+                        .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void searchUsers_WithShortQuery_ShouldMatchLikeTheIndex() throws Exception {
+        // Case-insensitive substring, as the index matches
+        mockMvc.perform(get("/api/users/search")
+                        .header("Authorization", "Bearer " + userToken)
+                        .param("query", "AD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].username").value("adminuser"));
+
+        // LIKE wildcards in the query are literal characters
+        mockMvc.perform(get("/api/users/search")
+                        .header("Authorization", "Bearer " + userToken)
+                        .param("query", "_"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+        mockMvc.perform(get("/api/users/search")
+                        .header("Authorization", "Bearer " + userToken)
+                        .param("query", "%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+    // The body is written on an async thread with its own transaction, so the users must be committed
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void exportAllUsers_WithNdjsonAccept_ShouldStreamOneUserPerLine() throws Exception {
+        try {
+            MvcResult result = mockMvc.perform(get("/api/users/all")
+                            .header("Authorization", "Bearer " + userToken)
+                            .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            String body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            String[] lines = body.split("\n");
+            assertEquals(2, lines.length);
+            assertEquals(testUser.getId(), objectMapper.readTree(lines[0]).get("id").asLong());
+            assertEquals("adminuser", objectMapper.readTree(lines[1]).get("username").asText());
+        } finally {
+            userRepository.deleteAll(List.of(testUser, adminUser));
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void importUsers_WithCsv_ShouldReportEveryRow() throws Exception {
+        String csv = """
+                username,email,password,firstName,lastName,phone,role
+                importer1,importer1@example.com,password123,Ada,"Lovelace, Countess",,USER
+                testuser,someone@example.com,password123,,,,USER
+                importer2,not-an-email,password123,,,,USER
+                importer3,importer3@example.com,password123,,,,ADMIN
+                importer3,importer4@example.com,password123,,,,USER
+                importer5,importer5@example.com,password123,,,,SUPERUSER
+                """;
+        try {
+            List<JsonNode> report = importUsers(csv, "text/csv");
+
+            assertEquals(7, report.size());
+            assertAccepted(report.get(0), 2, "importer1");
+            assertRejected(report.get(1), 3, "Username already exists: testuser");
+            assertRejected(report.get(2), 4, "email: Email should be valid");
+            assertAccepted(report.get(3), 5, "importer3");
+            assertRejected(report.get(4), 6, "Duplicate username in import: importer3");
+            assertRejected(report.get(5), 7, "Unknown role: SUPERUSER");
+            assertEquals(2, report.get(6).get("accepted").asLong());
+            assertEquals(4, report.get(6).get("rejected").asLong());
+
+            User imported = userRepository.findByUsername("importer1").orElseThrow();
+            assertEquals("Lovelace, Countess", imported.getLastName());
+            assertTrue(passwordEncoder.matches("password123", imported.getPassword()));
+            assertEquals(UserRole.ADMIN, userRepository.findByUsername("importer3").orElseThrow().getRole());
+        } finally {
+            cleanUpImport();
+        }
+    }
+
+    // With two rows per chunk, the second chunk's duplicate is caught by the database check
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void importUsers_WithNdjsonAcrossChunks_ShouldRejectRowsCommittedByEarlierChunks() throws Exception {
+        String ndjson = """
+                {"username":"importer1","email":"importer1@example.com","password":"password123","role":"USER"}
+                {"username":"importer2","email":"importer2@example.com","password":"password123","role":"USER"}
+                {"username":"importer3","email":"importer1@example.com","password":"password123","role":"USER"}
+
+                {"username":"importer4",
+                """;
+        ReflectionTestUtils.setField(userImportService, "chunkSize", 2);
+        try {
+            List<JsonNode> report = importUsers(ndjson, MediaType.APPLICATION_NDJSON_VALUE);
+
+            assertEquals(5, report.size());
+            assertAccepted(report.get(0), 1, "importer1");
+            assertAccepted(report.get(1), 2, "importer2");
+            assertRejected(report.get(2), 3, "Email already exists: importer1@example.com");
+            assertEquals("REJECTED", report.get(3).get("status").asText());
+            assertEquals(5, report.get(3).get("line").asLong());
+            assertTrue(report.get(3).get("error").asText().startsWith("Malformed JSON"));
+            assertEquals(2, report.get(4).get("accepted").asLong());
+        } finally {
+            ReflectionTestUtils.setField(userImportService, "chunkSize", 1000);
+            cleanUpImport();
+        }
+    }
+
+    @Test
+    void importUsers_WithUnknownCsvColumn_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/users/import")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType("text/csv")
+                        .content("username,email,password,role,nickname\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importUsers_WithUserToken_ShouldBeDenied() throws Exception {
+        mockMvc.perform(post("/api/users/import")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType("text/csv")
+                        .content("username,email,password,role\nimporter1,importer1@example.com,password123,USER\n"))
+                .andExpect(status().isForbidden());
+
+        assertTrue(userRepository.findByUsername("importer1").isEmpty());
+    }
+
+    private List<JsonNode> importUsers(String body, String contentType) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/users/import")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(contentType)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String response = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : response.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private void assertAccepted(JsonNode result, long line, String username) {
+        assertEquals(line, result.get("line").asLong());
+        assertEquals("ACCEPTED", result.get("status").asText());
+        assertEquals(username, result.get("username").asText());
+        assertEquals(userRepository.findByUsername(username).orElseThrow().getId(), result.get("id").asLong());
+    }
+
+    private void assertRejected(JsonNode result, long line, String error) {
+        assertEquals(line, result.get("line").asLong());
+        assertEquals("REJECTED", result.get("status").asText());
+        assertEquals(error, result.get("error").asText());
+    }
+
+    private void cleanUpImport() {
+        userRepository.deleteAll(userRepository.findByUsernameIn(
+                List.of("importer1", "importer2", "importer3", "importer4", "importer5")));
+        userRepository.deleteAll(List.of(testUser, adminUser));
+    }
+
+    @Test
+    void bulkDeactivateUsers_WithIds_ShouldRunOneUpdateAndCountChangedUsers() throws Exception {
+        User alreadyInactive = createAndSaveUser("bulkinactive", "bulkinactive@example.com", UserRole.USER);
+        alreadyInactive.setActive(false);
+        userRepository.saveAndFlush(alreadyInactive);
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(patch("/api/users/bulk/deactivate")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + testUser.getId() + "," + alreadyInactive.getId() + ",999999]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(2))
+                .andExpect(jsonPath("$.affected").value(1));
+
+        assertEquals(1, SqlStatementCounter.countContaining("update users"));
+        assertEquals(false, userRepository.findById(testUser.getId()).orElseThrow().getActive());
+    }
+
+    @Test
+    void bulkChangeRole_WithFilter_ShouldChangeMatchingUsers() throws Exception {
+        createAndSaveUser("salesone", "salesone@example.com", UserRole.USER);
+        createAndSaveUser("salestwo", "salestwo@example.com", UserRole.USER);
+
+        mockMvc.perform(patch("/api/users/bulk/role")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{\"search\":\"sales\",\"active\":true},\"role\":\"MANAGER\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        assertEquals(UserRole.MANAGER, userRepository.findByUsername("salesone").orElseThrow().getRole());
+        assertEquals(UserRole.USER, userRepository.findById(testUser.getId()).orElseThrow().getRole());
+    }
+
+    @Test
+    void bulkActivateUsers_WithIdsAndFilter_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/users/bulk/activate")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1],\"filter\":{\"role\":\"USER\"}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkDeactivateUsers_WithUserToken_ShouldBeDenied() throws Exception {
+        mockMvc.perform(patch("/api/users/bulk/deactivate")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + adminUser.getId() + "]}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void startExport_WithUserToken_ShouldBeDenied() throws Exception {
+        mockMvc.perform(post("/api/users/exports")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void getExport_WithUnknownJob_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/users/exports/00000000-0000-0000-0000-000000000000")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+    }
+}
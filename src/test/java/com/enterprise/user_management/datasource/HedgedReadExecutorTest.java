@@ -0,0 +1,182 @@
+package com.enterprise.user_management.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class HedgedReadExecutorTest {
+
+    private static final String SQL = "SELECT username FROM users WHERE id = ?";
+    private static final RowMapper<String> USERNAME = (rs, rowNum) -> rs.getString("username");
+    private static final Duration MIN_DELAY = Duration.ofMillis(10);
+    private static final Duration MAX_DELAY = Duration.ofSeconds(1);
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private MeterRegistry meterRegistry;
+    private HedgedReadExecutor hedgedReadExecutor;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = mock(ReplicaRoutingDataSource.class);
+        when(routingDataSource.hasReplicas()).thenReturn(true);
+        meterRegistry = new SimpleMeterRegistry();
+        hedgedReadExecutor = new HedgedReadExecutor(routingDataSource, true, 0.95, MIN_DELAY, MAX_DELAY,
+                Duration.ofSeconds(5), 4, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hedgedReadExecutor.close();
+    }
+
+    @Test
+    void queryForOptional_FirstAnswersInTime_ShouldNotHedge() throws SQLException {
+        // Given
+        DataSource first = answering("first", false);
+        DataSource second = answering("second", false);
+        when(routingDataSource.readTargets()).thenReturn(List.of(first, second));
+
+        // When
+        Optional<String> result = hedgedReadExecutor.queryForOptional(SQL, USERNAME, 1L);
+
+        // Then
+        assertEquals(Optional.of("first"), result);
+        verify(second, never()).getConnection();
+        assertEquals(1.0, meterRegistry.get("users.datasource.hedge.reads").tag("hedged", "false").counter().count());
+    }
+
+    @Test
+    void queryForOptional_FirstTooSlow_ShouldHedgeAndCancelTheLoser() throws SQLException {
+        // Given
+        DataSource first = answering("first", true);
+        DataSource second = answering("second", false);
+        when(routingDataSource.readTargets()).thenReturn(List.of(first, second));
+
+        // When
+        Optional<String> result = hedgedReadExecutor.queryForOptional(SQL, USERNAME, 1L);
+
+        // Then
+        assertEquals(Optional.of("second"), result);
+        verify(first.getConnection().prepareStatement(SQL), timeout(1000)).cancel();
+        assertEquals(1.0, meterRegistry.get("users.datasource.hedge.reads").tag("hedged", "true").counter().count());
+        assertEquals(1.0, meterRegistry.get("users.datasource.hedge.wins").tag("winner", "hedge").counter().count());
+    }
+
+    @Test
+    void queryForOptional_FirstFails_ShouldAnswerFromTheHedge() throws SQLException {
+        // Given
+        DataSource first = mock(DataSource.class);
+        when(first.getConnection()).thenThrow(new SQLException("Connection refused", "08001"));
+        DataSource second = answering("second", false);
+        when(routingDataSource.readTargets()).thenReturn(List.of(first, second));
+
+        // When
+        Optional<String> result = hedgedReadExecutor.queryForOptional(SQL, USERNAME, 1L);
+
+        // Then
+        assertEquals(Optional.of("second"), result);
+        assertEquals(1.0, meterRegistry.get("users.datasource.hedge.wins").tag("winner", "hedge").counter().count());
+    }
+
+    @Test
+    void queryForOptional_BothFail_ShouldThrowDataAccessException() throws SQLException {
+        // Given
+        DataSource first = mock(DataSource.class);
+        DataSource second = mock(DataSource.class);
+        when(first.getConnection()).thenThrow(new SQLException("Connection refused", "08001"));
+        when(second.getConnection()).thenThrow(new SQLException("Connection refused", "08001"));
+        when(routingDataSource.readTargets()).thenReturn(List.of(first, second));
+
+        // When & Then
+        assertThrows(DataAccessException.class, () -> hedgedReadExecutor.queryForOptional(SQL, USERNAME, 1L));
+    }
+
+    @Test
+    void queryForOptional_SingleTarget_ShouldReadWithoutHedging() throws SQLException {
+        // Given
+        DataSource primary = answering("primary", false);
+        when(routingDataSource.readTargets()).thenReturn(List.of(primary));
+
+        // When
+        Optional<String> result = hedgedReadExecutor.queryForOptional(SQL, USERNAME, 1L);
+
+        // Then
+        assertEquals(Optional.of("primary"), result);
+        assertEquals(0.0, meterRegistry.get("users.datasource.hedge.reads").tag("hedged", "true").counter().count());
+    }
+
+    @Test
+    void queryForOptional_NoRow_ShouldBeEmpty() throws SQLException {
+        // Given
+        DataSource first = answering(null, false);
+        DataSource second = answering("second", false);
+        when(routingDataSource.readTargets()).thenReturn(List.of(first, second));
+
+        // When & Then
+        assertTrue(hedgedReadExecutor.queryForOptional(SQL, USERNAME, 1L).isEmpty());
+    }
+
+    @Test
+    void hedgeDelay_ShouldFollowObservedLatencyWithinBounds() throws SQLException {
+        // Before any reads the delay is the upper bound
+        assertEquals(MAX_DELAY.toNanos(), hedgedReadExecutor.hedgeDelayNanos());
+
+        // Given
+        DataSource first = answering("first", false);
+        DataSource second = answering("second", false);
+        when(routingDataSource.readTargets()).thenReturn(List.of(first, second));
+        for (int i = 0; i < 50; i++) {
+            hedgedReadExecutor.queryForOptional(SQL, USERNAME, 1L);
+        }
+        ReflectionTestUtils.setField(hedgedReadExecutor, "delayRefreshedAt", System.nanoTime() - TimeUnit.SECONDS.toNanos(2));
+
+        // When & Then: mocked reads answer in microseconds, so the lower bound applies
+        assertEquals(MIN_DELAY.toNanos(), hedgedReadExecutor.hedgeDelayNanos());
+    }
+
+    // A pool whose query returns the given username (no row when null); a slow one blocks until cancelled
+    private static DataSource answering(String username, boolean slow) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        CountDownLatch cancelled = new CountDownLatch(1);
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        doAnswer(invocation -> {
+            cancelled.countDown();
+            return null;
+        }).when(statement).cancel();
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            if (slow) {
+                cancelled.await(5, TimeUnit.SECONDS);
+                throw new SQLException("Statement was cancelled", "57014");
+            }
+            return resultSet;
+        });
+        when(resultSet.next()).thenReturn(username != null, false);
+        when(resultSet.getString("username")).thenReturn(username);
+        return dataSource;
+    }
+}
@@ -0,0 +1,200 @@
+package com.enterprise.user_management.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replicaOne;
+    private DataSource replicaTwo;
+    private Connection primaryConnection;
+    private Connection replicaOneConnection;
+    private Connection replicaTwoConnection;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replicaOne = mock(DataSource.class);
+        replicaTwo = mock(DataSource.class);
+        primaryConnection = validConnection();
+        replicaOneConnection = validConnection();
+        replicaTwoConnection = validConnection();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replicaOne.getConnection()).thenReturn(replicaOneConnection);
+        when(replicaTwo.getConnection()).thenReturn(replicaTwoConnection);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replicaOne);
+        replicas.put("replica-2", replicaTwo);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getConnection_ReadOnlyTransaction_ShouldRoundRobinAcrossReplicas() throws SQLException {
+        // Given
+        beginTransaction(true);
+
+        // When & Then
+        assertSame(replicaOneConnection, routingDataSource.getConnection());
+        assertSame(replicaTwoConnection, routingDataSource.getConnection());
+        assertSame(replicaOneConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_ReadWriteTransaction_ShouldUsePrimary() throws SQLException {
+        // Given
+        beginTransaction(false);
+
+        // When & Then
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_WithoutTransaction_ShouldUsePrimary() throws SQLException {
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void getConnectionWithCredentials_ShouldPassThemToTheRoutedPool() throws SQLException {
+        // Given
+        Connection replicaWithCredentials = validConnection();
+        Connection primaryWithCredentials = validConnection();
+        when(replicaOne.getConnection("reporting", "secret")).thenReturn(replicaWithCredentials);
+        when(primary.getConnection("reporting", "secret")).thenReturn(primaryWithCredentials);
+
+        // When & Then
+        beginTransaction(true);
+        assertSame(replicaWithCredentials, routingDataSource.getConnection("reporting", "secret"));
+        tearDown();
+        beginTransaction(false);
+        assertSame(primaryWithCredentials, routingDataSource.getConnection("reporting", "secret"));
+    }
+
+    @Test
+    void getConnection_ReplicaFails_ShouldFailOverAndMarkItDown() throws SQLException {
+        // Given
+        when(replicaOne.getConnection()).thenThrow(new SQLException("Connection refused"));
+        beginTransaction(true);
+
+        // When
+        Connection first = routingDataSource.getConnection();
+        Connection second = routingDataSource.getConnection();
+
+        // Then
+        assertSame(replicaTwoConnection, first);
+        assertSame(replicaTwoConnection, second);
+        assertEquals(1, routingDataSource.healthyReplicas());
+        verify(replicaOne, times(2)).getConnection();
+    }
+
+    @Test
+    void getConnection_AllReplicasDown_ShouldFallBackToPrimary() throws SQLException {
+        // Given
+        when(replicaOne.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(replicaTwo.getConnection()).thenThrow(new SQLException("Connection refused"));
+        beginTransaction(true);
+
+        // When & Then
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertEquals(0, routingDataSource.healthyReplicas());
+    }
+
+    @Test
+    void checkReplicas_ShouldBringARecoveredReplicaBack() throws SQLException {
+        // Given
+        when(replicaOne.getConnection()).thenThrow(new SQLException("Connection refused"));
+        routingDataSource.checkReplicas();
+        assertEquals(1, routingDataSource.healthyReplicas());
+
+        // When
+        doReturn(replicaOneConnection).when(replicaOne).getConnection();
+        routingDataSource.checkReplicas();
+
+        // Then
+        assertEquals(2, routingDataSource.healthyReplicas());
+    }
+
+    @Test
+    void getConnection_AfterOwnWriteCommits_ShouldReadFromPrimaryWithinTheWindow() throws SQLException {
+        // Given
+        authenticate("writer");
+        beginTransaction(false);
+        routingDataSource.getConnection();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        tearDown();
+
+        // When
+        authenticate("writer");
+        beginTransaction(true);
+        Connection writerRead = routingDataSource.getConnection();
+        authenticate("someoneElse");
+        Connection otherRead = routingDataSource.getConnection();
+
+        // Then
+        assertSame(primaryConnection, writerRead);
+        assertNotSame(primaryConnection, otherRead);
+    }
+
+    @Test
+    void getConnection_RolledBackWrite_ShouldNotPinReadsToPrimary() throws SQLException {
+        // Given
+        authenticate("writer");
+        beginTransaction(false);
+        routingDataSource.getConnection();
+        tearDown();
+
+        // When
+        authenticate("writer");
+        beginTransaction(true);
+
+        // Then
+        assertNotSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private static Connection validConnection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        return connection;
+    }
+}
@@ -0,0 +1,239 @@
+package com.enterprise.user_management.datasource;
+
+import com.enterprise.user_management.dto.UserCreateDTO;
+import com.enterprise.user_management.dto.UserResponseDTO;
+import com.enterprise.user_management.entity.User;
+import com.enterprise.user_management.repository.UserRepository;
+import com.enterprise.user_management.service.UserService;
+import com.enterprise.user_management.util.TestDataBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two embedded H2 databases: the usual primary and a "replica" that is never written by the application,
+// so which one answered a read shows where it was routed
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "users.datasource.replica-urls=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "users.datasource.read-your-writes-window=PT1M"
+})
+class ReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1";
+
+    private static final String INSERT_SQL = "INSERT INTO users (id, username, email, password, role, active, " +
+            "created_at, updated_at) VALUES (?, ?, ?, 'encoded', 'USER', TRUE, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        // Give the replica the primary's schema
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "password"));
+        replica.execute("DROP TABLE IF EXISTS users");
+        for (String statement : jdbcTemplate.queryForList("SCRIPT NODATA TABLE users", String.class)) {
+            if (!statement.startsWith("CREATE USER")) {
+                replica.execute(statement);
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM users");
+        replica.execute("DROP TABLE IF EXISTS users");
+        // The rows went behind Hibernate's back, so drop the username -> id resolutions as well
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldReadFromReplica() {
+        // Given
+        insert(jdbcTemplate, 1_000_001L, "onprimary");
+        insert(replica, 1_000_002L, "onreplica");
+
+        // When
+        List<String> usernames = usernames(userService.getAllUsers());
+
+        // Then
+        assertEquals(List.of("onreplica"), usernames);
+        assertEquals(1, replicaRoutingDataSource.healthyReplicas());
+    }
+
+    @Test
+    void readWriteTransaction_ShouldWriteToPrimary() {
+        // When
+        userService.createUser(TestDataBuilder.createUserCreateDTO());
+
+        // Then
+        assertEquals(1, count(jdbcTemplate, "testuser"));
+        assertEquals(0, count(replica, "testuser"));
+    }
+
+    @Test
+    void readAfterOwnWrite_ShouldReadFromPrimaryForThatUserOnly() {
+        // Given
+        authenticate("writer");
+        UserCreateDTO dto = TestDataBuilder.createUserCreateDTO();
+        userService.createUser(dto);
+
+        // When
+        List<String> writerReads = usernames(userService.getAllUsers());
+        authenticate("reader");
+        List<String> readerReads = usernames(userService.getAllUsers());
+
+        // Then
+        assertEquals(List.of("testuser"), writerReads);
+        assertTrue(readerReads.isEmpty());
+    }
+
+    @Test
+    void replicaReads_ShouldNotPopulateTheSecondLevelCache() {
+        // Given
+        insert(jdbcTemplate, 1_000_003L, "everywhere");
+        insert(replica, 1_000_003L, "everywhere");
+
+        // When
+        User user = userRepository.findById(1_000_003L).orElseThrow();
+
+        // Then
+        assertEquals("everywhere", user.getUsername());
+        assertFalse(entityManagerFactory.getCache().contains(User.class, 1_000_003L));
+    }
+
+    @Test
+    void getUserById_ShouldBeAHedgedReadAgainstTheReplica() {
+        // Given
+        insert(jdbcTemplate, 1_000_004L, "byidprimary");
+        insert(replica, 1_000_004L, "byidreplica");
+        double readsBefore = hedgedReads();
+
+        // When
+        UserResponseDTO user = userService.getUserById(1_000_004L);
+
+        // Then
+        assertEquals("byidreplica", user.getUsername());
+        assertEquals(readsBefore + 1, hedgedReads());
+    }
+
+    @Test
+    void getUserById_CachedUser_ShouldNotNeedAHedgedRead() {
+        // Given
+        Long id = userService.createUser(TestDataBuilder.createUserCreateDTO()).getId();
+        userService.activateUser(id);
+        double readsBefore = hedgedReads();
+
+        // When
+        UserResponseDTO user = userService.getUserById(id);
+
+        // Then
+        assertEquals("testuser", user.getUsername());
+        assertEquals(readsBefore, hedgedReads());
+    }
+
+    @Test
+    void getUserById_RowWithoutTimestamps_ShouldMapThemAsNull() {
+        // Given: a row written outside Hibernate, on a schema that allows it
+        replica.execute("ALTER TABLE users ALTER COLUMN updated_at SET NULL");
+        replica.update("INSERT INTO users (id, username, email, password, role, active, created_at) " +
+                "VALUES (1000006, 'untimed', 'untimed@example.com', 'encoded', 'USER', TRUE, CURRENT_TIMESTAMP)");
+
+        // When
+        UserResponseDTO user = userService.getUserById(1_000_006L);
+
+        // Then
+        assertEquals("untimed", user.getUsername());
+        assertNull(user.getUpdatedAt());
+    }
+
+    @Test
+    void getUserByUsername_CachedUser_ShouldNotNeedAHedgedRead() {
+        // Given: loaded by a read-write transaction on the primary, which puts it in the second-level cache
+        Long id = userService.createUser(TestDataBuilder.createUserCreateDTO()).getId();
+        userService.activateUser(id);
+        double readsBefore = hedgedReads();
+
+        // When
+        UserResponseDTO user = userService.getUserByUsername("testuser");
+
+        // Then
+        assertEquals("test@example.com", user.getEmail());
+        assertEquals(readsBefore, hedgedReads());
+    }
+
+    @Test
+    void getUserByUsername_UncachedUser_ShouldBeAHedgedReadAgainstTheReplica() {
+        // Given
+        insert(replica, 1_000_005L, "onlyonreplica");
+        double readsBefore = hedgedReads();
+
+        // When
+        UserResponseDTO user = userService.getUserByUsername("onlyonreplica");
+
+        // Then
+        assertEquals(1_000_005L, user.getId());
+        assertEquals(readsBefore + 1, hedgedReads());
+    }
+
+    private double hedgedReads() {
+        return meterRegistry.find("users.datasource.hedge.reads").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private static void insert(JdbcTemplate target, long id, String username) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        target.update(INSERT_SQL, id, username, username + "@example.com", now, now);
+    }
+
+    private static long count(JdbcTemplate target, String username) {
+        return target.queryForObject("SELECT COUNT(*) FROM users WHERE username = ?", Long.class, username);
+    }
+
+    private static List<String> usernames(List<UserResponseDTO> users) {
+        return users.stream().map(UserResponseDTO::getUsername).toList();
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
@@ -0,0 +1,84 @@
+package com.enterprise.user_management.importer;
+
+import com.enterprise.user_management.enums.UserRole;
+import com.enterprise.user_management.exception.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void parseCsvLine_ShouldHandleQuotedCommasAndEscapedQuotes() {
+        assertEquals(Arrays.asList("a", "b, c", "say \"hi\"", null, ""),
+                UserImportReader.parseCsvLine("a,\"b, c\",\"say \"\"hi\"\"\",,\"\""));
+    }
+
+    @Test
+    void csv_ShouldMapColumnsByHeaderInAnyOrder() throws IOException {
+        // Given
+        String csv = "ROLE,password,email,username\n\nadmin,secret123,ann@example.com,ann\n";
+
+        // When
+        List<UserImportRow> rows = readAll(csv, ImportFormat.CSV);
+
+        // Then
+        assertEquals(1, rows.size());
+        UserImportRow row = rows.get(0);
+        assertEquals(3, row.line());
+        assertEquals("ann", row.user().getUsername());
+        assertEquals("ann@example.com", row.user().getEmail());
+        assertEquals(UserRole.ADMIN, row.user().getRole());
+        assertNull(row.user().getPhone());
+    }
+
+    @Test
+    void csv_WithBadRow_ShouldReportItAndContinue() throws IOException {
+        // When
+        List<UserImportRow> rows = readAll("username,email,password,role\nann,\"unterminated\nbob,b@example.com,pw,USER\n",
+                ImportFormat.CSV);
+
+        // Then
+        assertEquals("Unterminated quoted field", rows.get(0).error());
+        assertEquals("bob", rows.get(1).user().getUsername());
+    }
+
+    @Test
+    void csv_WithoutRequiredColumn_ShouldFailBeforeReadingRows() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> readAll("username,email,password\n", ImportFormat.CSV));
+        assertEquals("CSV header is missing the 'role' column", exception.getMessage());
+    }
+
+    @Test
+    void ndjson_ShouldParseObjectsAndReportMalformedLines() throws IOException {
+        // When
+        List<UserImportRow> rows = readAll("{\"username\":\"ann\",\"role\":\"USER\"}\nnull\n{\"username\":\n",
+                ImportFormat.NDJSON);
+
+        // Then
+        assertEquals("ann", rows.get(0).user().getUsername());
+        assertEquals("Expected a JSON object", rows.get(1).error());
+        assertEquals(3, rows.get(2).line());
+        assertTrue(rows.get(2).error().startsWith("Malformed JSON"));
+    }
+
+    private List<UserImportRow> readAll(String input, ImportFormat format) throws IOException {
+        List<UserImportRow> rows = new ArrayList<>();
+        try (UserImportReader reader = UserImportReader.open(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), format, objectMapper)) {
+            reader.forEachRemaining(rows::add);
+        }
+        return rows;
+    }
+}
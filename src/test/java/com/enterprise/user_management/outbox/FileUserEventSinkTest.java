@@ -0,0 +1,57 @@
+package com.enterprise.user_management.outbox;
+
+import com.enterprise.user_management.dto.UserChangeEvent;
+import com.enterprise.user_management.enums.UserEventType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileUserEventSinkTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private FileUserEventSink sink;
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("events").resolve("user-events.ndjson");
+        sink = new FileUserEventSink();
+        ReflectionTestUtils.setField(sink, "file", file);
+        ReflectionTestUtils.setField(sink, "objectMapper", objectMapper);
+    }
+
+    @Test
+    void publish_ShouldAppendOneJsonLinePerEvent() throws IOException {
+        // When
+        sink.publish(List.of(event(1L, UserEventType.CREATED), event(2L, UserEventType.UPDATED)));
+        sink.publish(List.of(event(3L, UserEventType.DELETED)));
+
+        // Then
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        JsonNode last = objectMapper.readTree(lines.get(2));
+        assertEquals(3L, last.get("id").asLong());
+        assertEquals("DELETED", last.get("type").asText());
+        assertEquals("alice", last.get("user").get("username").asText());
+    }
+
+    private static UserChangeEvent event(Long id, UserEventType type) {
+        return new UserChangeEvent(id, type, 7L, "alice", Instant.parse("2024-01-01T00:00:00Z"),
+                "{\"id\":7,\"username\":\"alice\"}");
+    }
+}
@@ -0,0 +1,227 @@
+package com.enterprise.user_management.outbox;
+
+import com.enterprise.user_management.dto.PasswordChangeRequest;
+import com.enterprise.user_management.dto.UserBulkUpdateRequest;
+import com.enterprise.user_management.dto.UserChangeEvent;
+import com.enterprise.user_management.dto.UserCreateDTO;
+import com.enterprise.user_management.dto.UserUpdateDTO;
+import com.enterprise.user_management.entity.User;
+import com.enterprise.user_management.entity.UserOutboxEvent;
+import com.enterprise.user_management.enums.UserEventType;
+import com.enterprise.user_management.exception.DuplicateResourceException;
+import com.enterprise.user_management.importer.UserImportRow;
+import com.enterprise.user_management.repository.UserOutboxRepository;
+import com.enterprise.user_management.repository.UserRepository;
+import com.enterprise.user_management.service.UserBulkUpdateService;
+import com.enterprise.user_management.service.UserImportService;
+import com.enterprise.user_management.service.UserService;
+import com.enterprise.user_management.util.TestDataBuilder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: events must commit with the changes that wrote them
+@SpringBootTest
+@ActiveProfiles("test")
+class UserOutboxIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserBulkUpdateService userBulkUpdateService;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserOutboxRepository userOutboxRepository;
+
+    @Autowired
+    private UserOutboxRelay userOutboxRelay;
+
+    @Autowired
+    private UserEventSink userEventSink;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Other test classes sharing the database leave their events behind
+    @BeforeEach
+    void setUp() {
+        userOutboxRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(userOutboxRelay, "sink", userEventSink);
+        ReflectionTestUtils.setField(userOutboxRelay, "batchSize", 500);
+        userOutboxRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void writes_ShouldEachRecordAnEventWithTheChange() {
+        // Given
+        Long id = userService.createUser(TestDataBuilder.createUserCreateDTO()).getId();
+        UserUpdateDTO update = new UserUpdateDTO();
+        update.setFirstName("Changed");
+
+        // When
+        userService.updateUser(id, update);
+        userService.deactivateUser(id);
+        userService.activateUser(id);
+        userService.changePassword("testuser", new PasswordChangeRequest("password123", "newPassword456"));
+        userService.deleteUser(id);
+
+        // Then
+        List<UserOutboxEvent> events = userOutboxRepository.findAll();
+        assertEquals(List.of(UserEventType.CREATED, UserEventType.UPDATED, UserEventType.DEACTIVATED,
+                        UserEventType.ACTIVATED, UserEventType.PASSWORD_CHANGED, UserEventType.DELETED),
+                events.stream().map(UserOutboxEvent::getEventType).toList());
+        assertTrue(events.stream().allMatch(event -> id.equals(event.getUserId())));
+        assertTrue(events.get(1).getPayload().contains("\"firstName\":\"Changed\""));
+        assertFalse(events.get(4).getPayload().contains("password"));
+    }
+
+    @Test
+    void bulkUpdate_ShouldRecordAnEventPerChangedUser() {
+        // Given
+        createUsers(3);
+        List<Long> ids = userRepository.findAll().stream().map(User::getId).toList();
+        userService.deactivateUser(ids.get(0));
+        userOutboxRepository.deleteAll();
+
+        // When
+        userBulkUpdateService.setActive(new UserBulkUpdateRequest(ids, null, null), false);
+
+        // Then: the already inactive user changed nothing and has no event
+        List<UserOutboxEvent> events = userOutboxRepository.findAll();
+        assertEquals(List.of(ids.get(1), ids.get(2)), events.stream().map(UserOutboxEvent::getUserId).sorted().toList());
+        assertTrue(events.stream().allMatch(event -> event.getEventType() == UserEventType.DEACTIVATED));
+        assertTrue(events.get(0).getPayload().contains("\"active\":false"));
+    }
+
+    @Test
+    void importUsers_ShouldRecordACreatedEventPerImportedUser() {
+        // Given
+        List<UserImportRow> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            UserCreateDTO dto = TestDataBuilder.createUserCreateDTO();
+            dto.setUsername("imported" + i);
+            dto.setEmail("imported" + i + "@example.com");
+            rows.add(new UserImportRow(i + 1, dto, null));
+        }
+
+        // When
+        userImportService.importUsers(rows.iterator(), results -> { });
+
+        // Then
+        List<UserOutboxEvent> events = userOutboxRepository.findAll();
+        assertEquals(List.of("imported0", "imported1", "imported2"),
+                events.stream().map(UserOutboxEvent::getUsername).sorted().toList());
+        assertTrue(events.stream().allMatch(event -> event.getEventType() == UserEventType.CREATED
+                && event.getCreatedAt() != null));
+        assertEquals(userRepository.findByUsername("imported0").orElseThrow().getId(),
+                events.stream().filter(event -> event.getUsername().equals("imported0")).findFirst().orElseThrow().getUserId());
+    }
+
+    @Test
+    void failedWrite_ShouldRecordNoEvent() {
+        // Given
+        userService.createUser(TestDataBuilder.createUserCreateDTO());
+        UserCreateDTO duplicate = TestDataBuilder.createUserCreateDTO();
+        duplicate.setEmail("other@example.com");
+
+        // When
+        assertThrows(DuplicateResourceException.class, () -> userService.createUser(duplicate));
+
+        // Then
+        assertEquals(1, userOutboxRepository.count());
+    }
+
+    @Test
+    void drain_ShouldPublishInBatchesAndEmptyTheOutbox() throws IOException {
+        // Given
+        CapturingSink sink = new CapturingSink();
+        ReflectionTestUtils.setField(userOutboxRelay, "sink", sink);
+        ReflectionTestUtils.setField(userOutboxRelay, "batchSize", 2);
+        createUsers(5);
+
+        // When
+        long published = userOutboxRelay.drain();
+
+        // Then
+        assertEquals(5, published);
+        assertEquals(List.of(2, 2, 1), sink.batchSizes);
+        assertEquals(0, userOutboxRepository.count());
+
+        JsonNode event = objectMapper.readTree(objectMapper.writeValueAsString(sink.events.get(0)));
+        assertEquals("CREATED", event.get("type").asText());
+        assertEquals("user0", event.get("user").get("username").asText());
+        assertTrue(event.get("user").get("id").isNumber());
+    }
+
+    @Test
+    void drain_SinkFails_ShouldKeepEventsForTheNextRun() {
+        // Given
+        CapturingSink sink = new CapturingSink();
+        sink.failuresLeft = 1;
+        ReflectionTestUtils.setField(userOutboxRelay, "sink", sink);
+        createUsers(3);
+
+        // When
+        long firstRun = userOutboxRelay.drain();
+
+        // Then
+        assertEquals(0, firstRun);
+        assertEquals(3, userOutboxRepository.count());
+
+        // When
+        long secondRun = userOutboxRelay.drain();
+
+        // Then
+        assertEquals(3, secondRun);
+        assertEquals(0, userOutboxRepository.count());
+    }
+
+    private void createUsers(int count) {
+        for (int i = 0; i < count; i++) {
+            UserCreateDTO dto = TestDataBuilder.createUserCreateDTO();
+            dto.setUsername("user" + i);
+            dto.setEmail("user" + i + "@example.com");
+            userService.createUser(dto);
+        }
+    }
+
+    private static class CapturingSink implements UserEventSink {
+        private final List<UserChangeEvent> events = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private int failuresLeft;
+
+        @Override
+        public void publish(List<UserChangeEvent> batch) throws IOException {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IOException("Sink unavailable");
+            }
+            events.addAll(batch);
+            batchSizes.add(batch.size());
+        }
+    }
+}
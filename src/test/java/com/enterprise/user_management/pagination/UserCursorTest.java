@@ -0,0 +1,52 @@
+package com.enterprise.user_management.pagination;
+
+import com.enterprise.user_management.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCursorTest {
+
+    @Test
+    void decode_ShouldRoundTripValueContainingSeparator() {
+        // Given
+        UserCursor cursor = new UserCursor(UserSortField.EMAIL, Sort.Direction.DESC, "a|b@example.com", 42L);
+
+        // When
+        UserCursor decoded = UserCursor.decode(cursor.encode());
+
+        // Then
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void decode_ShouldRestoreTypedSortValue() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123456000);
+        UserCursor cursor = new UserCursor(UserSortField.CREATED_AT, Sort.Direction.ASC, createdAt, 7L);
+
+        // When
+        UserCursor decoded = UserCursor.decode(cursor.encode());
+
+        // Then
+        assertEquals(createdAt, decoded.lastValue());
+        assertEquals(List.of("createdAt", "id"), List.copyOf(decoded.position().getKeys().keySet()));
+        assertEquals(Map.of("createdAt", createdAt, "id", 7L), decoded.position().getKeys());
+    }
+
+    @Test
+    void decode_WithTamperedToken_ShouldThrowBadRequest() {
+        assertThrows(BadRequestException.class, () -> UserCursor.decode("bm90LWEtY3Vyc29y"));
+        assertThrows(BadRequestException.class, () -> UserCursor.decode("%%%"));
+    }
+
+    @Test
+    void fromProperty_WithUnlistedField_ShouldThrowBadRequest() {
+        assertThrows(BadRequestException.class, () -> UserSortField.fromProperty("password"));
+    }
+}
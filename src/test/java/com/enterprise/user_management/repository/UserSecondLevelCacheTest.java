@@ -0,0 +1,225 @@
+package com.enterprise.user_management.repository;
+
+import com.enterprise.user_management.dto.PasswordChangeRequest;
+import com.enterprise.user_management.dto.UserBulkUpdateRequest;
+import com.enterprise.user_management.dto.UserCreateDTO;
+import com.enterprise.user_management.dto.UserResponseDTO;
+import com.enterprise.user_management.dto.UserUpdateDTO;
+import com.enterprise.user_management.entity.User;
+import com.enterprise.user_management.enums.UserRole;
+import com.enterprise.user_management.service.UserBulkUpdateService;
+import com.enterprise.user_management.service.UserService;
+import com.enterprise.user_management.util.SqlStatementCounter;
+import com.enterprise.user_management.util.TestDataBuilder;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.cache.CacheManager;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: the second-level cache is only written when a transaction commits
+@SpringBootTest
+@ActiveProfiles("test")
+class UserSecondLevelCacheTest {
+
+    private static final String USERNAME = "cacheduser";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserBulkUpdateService userBulkUpdateService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        UserCreateDTO dto = TestDataBuilder.createUserCreateDTO();
+        dto.setUsername(USERNAME);
+        dto.setEmail("cached@example.com");
+        userId = userService.createUser(dto).getId();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    void findByUsername_SecondLookup_ShouldNotQueryTheDatabase() {
+        // Given
+        SqlStatementCounter.reset();
+        assertTrue(userRepository.findByUsername(USERNAME).isPresent());
+        assertEquals(1, SqlStatementCounter.countSelectsFrom("users"));
+
+        // When
+        SqlStatementCounter.reset();
+        User user = userRepository.findByUsername(USERNAME).orElseThrow();
+
+        // Then
+        assertEquals(userId, user.getId());
+        assertEquals(0, SqlStatementCounter.countSelectsFrom("users"));
+    }
+
+    @Test
+    void getUserByUsername_WhenCached_ShouldNotQueryTheDatabase() {
+        // Given
+        userService.getUserByUsername(USERNAME);
+
+        // When
+        SqlStatementCounter.reset();
+        UserResponseDTO result = userService.getUserByUsername(USERNAME);
+
+        // Then
+        assertEquals("cached@example.com", result.getEmail());
+        assertEquals(0, SqlStatementCounter.countSelectsFrom("users"));
+    }
+
+    @Test
+    void findById_AfterUsernameLookup_ShouldShareTheCachedEntity() {
+        // Given
+        userRepository.findByUsername(USERNAME);
+
+        // When
+        SqlStatementCounter.reset();
+        User user = userRepository.findById(userId).orElseThrow();
+
+        // Then
+        assertEquals(USERNAME, user.getUsername());
+        assertEquals(0, SqlStatementCounter.countSelectsFrom("users"));
+    }
+
+    @Test
+    void findCredentialsByUsername_WhenCached_ShouldReadTheRow() {
+        // Given
+        userRepository.findByUsername(USERNAME);
+        jdbcTemplate.update("UPDATE users SET active = false WHERE id = ?", userId);
+
+        // When
+        SqlStatementCounter.reset();
+        User user = userRepository.findCredentialsByUsername(USERNAME).orElseThrow();
+
+        // Then
+        assertFalse(user.getActive());
+        assertEquals(1, SqlStatementCounter.countSelectsFrom("users"));
+    }
+
+    @Test
+    void findByUsername_UnknownUser_ShouldBeEmpty() {
+        assertTrue(userRepository.findByUsername("nobody").isEmpty());
+    }
+
+    @Test
+    void updateUser_ShouldRefreshTheCachedEntity() {
+        // Given
+        userRepository.findByUsername(USERNAME);
+        UserUpdateDTO update = new UserUpdateDTO();
+        update.setEmail("changed@example.com");
+        update.setRole(UserRole.MANAGER);
+
+        // When
+        userService.updateUser(userId, update);
+        SqlStatementCounter.reset();
+        User user = userRepository.findByUsername(USERNAME).orElseThrow();
+
+        // Then
+        assertEquals("changed@example.com", user.getEmail());
+        assertEquals(UserRole.MANAGER, user.getRole());
+        assertEquals(0, SqlStatementCounter.countSelectsFrom("users"));
+    }
+
+    @Test
+    void deactivateAndActivateUser_ShouldRefreshTheCachedEntity() {
+        // Given
+        userRepository.findByUsername(USERNAME);
+
+        // When
+        userService.deactivateUser(userId);
+
+        // Then
+        assertFalse(userRepository.findByUsername(USERNAME).orElseThrow().getActive());
+
+        // When
+        userService.activateUser(userId);
+
+        // Then
+        assertTrue(userRepository.findByUsername(USERNAME).orElseThrow().getActive());
+    }
+
+    @Test
+    void changePassword_ShouldRefreshTheCachedEntity() {
+        // Given
+        userRepository.findByUsername(USERNAME);
+
+        // When
+        userService.changePassword(USERNAME, new PasswordChangeRequest("password123", "newPassword456"));
+
+        // Then
+        User user = userRepository.findByUsername(USERNAME).orElseThrow();
+        assertTrue(passwordEncoder.matches("newPassword456", user.getPassword()));
+    }
+
+    @Test
+    void deleteUser_ShouldEvictTheCachedEntityAndNaturalId() {
+        // Given
+        userRepository.findByUsername(USERNAME);
+
+        // When
+        userService.deleteUser(userId);
+
+        // Then
+        assertTrue(userRepository.findByUsername(USERNAME).isEmpty());
+        assertTrue(userRepository.findById(userId).isEmpty());
+    }
+
+    @Test
+    void bulkDeactivate_ShouldEvictTheRegion() {
+        // Given
+        userRepository.findByUsername(USERNAME);
+
+        // When
+        userBulkUpdateService.setActive(new UserBulkUpdateRequest(List.of(userId), null, null), false);
+
+        // Then
+        SqlStatementCounter.reset();
+        assertFalse(userRepository.findByUsername(USERNAME).orElseThrow().getActive());
+        assertEquals(1, SqlStatementCounter.countSelectsFrom("users"));
+    }
+
+    @Test
+    void cacheRegions_ShouldBeBounded() {
+        for (String region : List.of(User.CACHE_REGION, User.NATURAL_ID_CACHE_REGION)) {
+            CaffeineConfiguration<?, ?> configuration = hibernateCacheManager.getCache(region)
+                    .getConfiguration(CaffeineConfiguration.class);
+            assertEquals(10000L, configuration.getMaximumSize().orElseThrow());
+            assertTrue(configuration.getExpireAfterWrite().isPresent());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.enterprise.user_management.search;
+
+import com.enterprise.user_management.entity.User;
+import com.enterprise.user_management.enums.UserRole;
+import com.enterprise.user_management.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Rows written straight through the repository stand in for imports, bulk updates and other instances
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "users.search.index.enabled=true")
+class UserSearchIndexIntegrationTest {
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        userSearchIndex.compact();
+    }
+
+    @Test
+    void compact_RowWrittenWithoutIndex_ShouldBecomeSearchable() {
+        // Given
+        User user = userRepository.save(new User("elsewhere", "elsewhere@example.com", "encoded", UserRole.USER));
+        assertEquals(0, userSearchIndex.search("elsewhere", 0, 10).total());
+
+        // When
+        userSearchIndex.compact();
+
+        // Then
+        assertEquals(List.of(user.getId()), userSearchIndex.search("elsewhere", 0, 10).ids());
+    }
+
+    @Test
+    void compact_RowDeletedWithoutIndex_ShouldDropOut() {
+        // Given
+        User user = userRepository.save(new User("shortlived", "shortlived@example.com", "encoded", UserRole.USER));
+        userSearchIndex.compact();
+        assertEquals(1, userSearchIndex.search("shortlived", 0, 10).total());
+
+        // When
+        userRepository.deleteById(user.getId());
+        userSearchIndex.compact();
+
+        // Then
+        assertEquals(0, userSearchIndex.search("shortlived", 0, 10).total());
+    }
+}
@@ -0,0 +1,181 @@
+package com.enterprise.user_management.search;
+
+import com.enterprise.user_management.entity.User;
+import com.enterprise.user_management.enums.UserRole;
+import com.enterprise.user_management.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserSearchIndexTest {
+
+    private UserSearchIndex userSearchIndex;
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userSearchIndex = new UserSearchIndex();
+        ReflectionTestUtils.setField(userSearchIndex, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userSearchIndex, "enabled", true);
+        ReflectionTestUtils.setField(userSearchIndex, "compactionThreshold", 1L);
+        ReflectionTestUtils.setField(userSearchIndex, "meterRegistry", new SimpleMeterRegistry());
+        userSearchIndex.init();
+
+        userSearchIndex.load(List.of(
+                new IndexedUser(1L, "johnny", "johnny@example.com", "Johnny", "Walker"),
+                new IndexedUser(2L, "john", "john@example.com", "John", "Doe"),
+                new IndexedUser(3L, "alice", "alice.johnson@example.com", "Alice", "Johnson"),
+                new IndexedUser(4L, "bob", "bob@example.com", "Bob", "Smith")
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void search_ShouldRankExactThenPrefixThenSubstring() {
+        // When
+        UserSearchIndex.SearchHits hits = userSearchIndex.search("John", 0, 10);
+
+        // Then
+        assertEquals(List.of(2L, 1L, 3L), hits.ids());
+        assertEquals(3, hits.total());
+    }
+
+    @Test
+    void search_WithOffset_ShouldPageThroughRankedResults() {
+        // When
+        UserSearchIndex.SearchHits hits = userSearchIndex.search("john", 1, 1);
+
+        // Then
+        assertEquals(List.of(1L), hits.ids());
+        assertEquals(3, hits.total());
+    }
+
+    @Test
+    void search_WithShortQuery_ShouldDeferToDatabase() {
+        assertNull(userSearchIndex.search("jo", 0, 10));
+    }
+
+    @Test
+    void search_WithNoMatch_ShouldReturnEmpty() {
+        // When
+        UserSearchIndex.SearchHits hits = userSearchIndex.search("zebra", 0, 10);
+
+        // Then
+        assertTrue(hits.ids().isEmpty());
+        assertEquals(0, hits.total());
+    }
+
+    @Test
+    void index_WithRenamedUser_ShouldReplaceOldTerms() {
+        // When
+        userSearchIndex.index(user(4L, "roberta", "roberta@example.com"));
+
+        // Then
+        assertEquals(List.of(4L), userSearchIndex.search("robert", 0, 10).ids());
+        assertEquals(0, userSearchIndex.search("bob@", 0, 10).total());
+
+        // ...and still after the delta is compacted into the base postings
+        when(userRepository.findIndexedTableState()).thenReturn(new IndexedTableState(4L, 4L, LocalDateTime.now()));
+        when(userRepository.findIndexedUsersAfter(eq(0L), any())).thenReturn(List.of(
+                new IndexedUser(1L, "johnny", "johnny@example.com", "Johnny", "Walker"),
+                new IndexedUser(2L, "john", "john@example.com", "John", "Doe"),
+                new IndexedUser(3L, "alice", "alice.johnson@example.com", "Alice", "Johnson"),
+                new IndexedUser(4L, "roberta", "roberta@example.com", null, null)
+        ));
+        userSearchIndex.compact();
+        assertEquals(List.of(4L), userSearchIndex.search("robert", 0, 10).ids());
+    }
+
+    @Test
+    void compact_ShouldReloadRowsWrittenOutsideTheIndex() {
+        // Given: a bulk write renamed user 1 and removed user 4 without going through index()
+        userSearchIndex.index(user(5L, "carol", "carol@example.com"));
+        when(userRepository.findIndexedTableState()).thenReturn(new IndexedTableState(4L, 5L, LocalDateTime.now()));
+        when(userRepository.findIndexedUsersAfter(eq(0L), any())).thenReturn(List.of(
+                new IndexedUser(1L, "jonathan", "jonathan@example.com", "Jonathan", "Walker"),
+                new IndexedUser(2L, "john", "john@example.com", "John", "Doe"),
+                new IndexedUser(3L, "alice", "alice.johnson@example.com", "Alice", "Johnson"),
+                new IndexedUser(5L, "carol", "carol@example.com", null, null)
+        ));
+
+        // When
+        userSearchIndex.compact();
+
+        // Then
+        assertEquals(List.of(1L), userSearchIndex.search("jonathan", 0, 10).ids());
+        assertEquals(List.of(2L, 3L), userSearchIndex.search("john", 0, 10).ids());
+        assertEquals(0, userSearchIndex.search("bob", 0, 10).total());
+        assertEquals(4, userSearchIndex.size());
+    }
+
+    @Test
+    void compact_UnchangedTable_ShouldOnlyRebuildThePostings() {
+        // Given
+        IndexedTableState state = new IndexedTableState(4L, 4L, LocalDateTime.now());
+        when(userRepository.findIndexedTableState()).thenReturn(state);
+        when(userRepository.findIndexedUsersAfter(eq(0L), any())).thenReturn(List.of(
+                new IndexedUser(1L, "johnny", "johnny@example.com", "Johnny", "Walker")));
+        userSearchIndex.compact();
+        userSearchIndex.index(user(5L, "carol", "carol@example.com"));
+
+        // When
+        userSearchIndex.compact();
+
+        // Then
+        verify(userRepository, times(1)).findIndexedUsersAfter(eq(0L), any());
+        assertEquals(List.of(5L), userSearchIndex.search("carol", 0, 10).ids());
+    }
+
+    @Test
+    void remove_ShouldDropUserFromResults() {
+        // When
+        userSearchIndex.remove(2L);
+
+        // Then
+        assertEquals(List.of(1L, 3L), userSearchIndex.search("john", 0, 10).ids());
+    }
+
+    @Test
+    void index_InsideTransaction_ShouldApplyOnlyAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        userSearchIndex.index(user(5L, "carol", "carol@example.com"));
+        assertEquals(0, userSearchIndex.search("carol", 0, 10).total());
+
+        // When
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+
+        // Then
+        assertEquals(List.of(5L), userSearchIndex.search("carol", 0, 10).ids());
+    }
+
+    private User user(Long id, String username, String email) {
+        User user = new User(username, email, "encoded", UserRole.USER);
+        user.setId(id);
+        return user;
+    }
+}
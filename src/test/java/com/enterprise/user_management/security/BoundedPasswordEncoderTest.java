@@ -0,0 +1,157 @@
+package com.enterprise.user_management.security;
+
+import com.enterprise.user_management.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CountDownLatch started;
+    private CountDownLatch release;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+
+        PasswordEncoder blockingDelegate = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "encoded-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("encoded-" + rawPassword);
+            }
+        };
+
+        encoder = new BoundedPasswordEncoder(blockingDelegate, 1, 1, 0, 3, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void encode_WhenIdle_ShouldDelegate() {
+        // Given
+        release.countDown();
+
+        // When & Then
+        assertEquals("encoded-password", encoder.encode("password"));
+        assertTrue(encoder.matches("password", "encoded-password"));
+        assertEquals(1, meterRegistry.get("password.hashing").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void encode_WhenPoolAndQueueAreFull_ShouldRejectImmediately() throws Exception {
+        // Given - one call running on the only worker, one waiting in the only queue slot
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        waitForQueueDepth(1);
+
+        // When
+        ServiceBusyException exception = assertThrows(ServiceBusyException.class, () -> encoder.encode("third"));
+
+        // Then
+        assertEquals(3, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("encoded-first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("encoded-second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encodeAll_WhenLoginsFillTheQueue_ShouldHashInlineInsteadOfRejecting() throws Exception {
+        // Given - the worker and the only queue slot are taken by logins
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        waitForQueueDepth(1);
+        release.countDown();
+
+        // When
+        List<String> encoded = encoder.encodeAll(List.of("a", "b", "c"));
+
+        // Then
+        assertEquals(List.of("encoded-a", "encoded-b", "encoded-c"), encoded);
+        assertEquals(0.0, meterRegistry.get("password.hashing.rejected").counter().count());
+        assertEquals("encoded-first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("encoded-second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encodeAll_WhileBatchHashesBlock_ShouldLeaveTheReservedWorkerForLogins() throws Exception {
+        // Given - two workers, one reserved; batch hashes block until released, logins don't
+        CountDownLatch batchStarted = new CountDownLatch(2);
+        PasswordEncoder delegate = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if (rawPassword.toString().startsWith("batch")) {
+                    batchStarted.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return "encoded-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("encoded-" + rawPassword);
+            }
+        };
+        BoundedPasswordEncoder reserving = new BoundedPasswordEncoder(delegate, 2, 4, 1, 3, meterRegistry);
+        try {
+            CompletableFuture<List<String>> batch = CompletableFuture.supplyAsync(
+                    () -> reserving.encodeAll(List.of("batch-a", "batch-b", "batch-c")));
+            // One on the batch worker, one inline on the caller
+            assertTrue(batchStarted.await(5, TimeUnit.SECONDS));
+
+            // When
+            String login = CompletableFuture.supplyAsync(() -> reserving.encode("login")).get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertEquals("encoded-login", login);
+            release.countDown();
+            assertEquals(List.of("encoded-batch-a", "encoded-batch-b", "encoded-batch-c"),
+                    batch.get(5, TimeUnit.SECONDS));
+        } finally {
+            reserving.shutdown();
+        }
+    }
+
+    private void waitForQueueDepth(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < expected) {
+            assertTrue(System.nanoTime() < deadline, "queued task never arrived");
+            Thread.sleep(10);
+        }
+    }
+}
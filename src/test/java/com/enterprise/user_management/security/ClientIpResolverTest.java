@@ -0,0 +1,87 @@
+package com.enterprise.user_management.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientIpResolverTest {
+
+    @Test
+    void resolve_WithoutTrustedProxies_ShouldIgnoreForwardedFor() {
+        // Given
+        ClientIpResolver resolver = resolver();
+        MockHttpServletRequest request = request("10.0.0.5", "203.0.113.7");
+
+        // When & Then
+        assertEquals("10.0.0.5", resolver.resolve(request));
+    }
+
+    @Test
+    void resolve_FromTrustedProxy_ShouldUseTheForwardedClient() {
+        // Given
+        ClientIpResolver resolver = resolver("10.0.0.0/8");
+        MockHttpServletRequest request = request("10.0.0.5", "203.0.113.7");
+
+        // When & Then
+        assertEquals("203.0.113.7", resolver.resolve(request));
+    }
+
+    @Test
+    void resolve_ThroughSeveralTrustedProxies_ShouldSkipThemAll() {
+        // Given
+        ClientIpResolver resolver = resolver("10.0.0.0/8", "192.168.1.1");
+        MockHttpServletRequest request = request("10.0.0.5", "203.0.113.7, 192.168.1.1, 10.1.2.3");
+
+        // When & Then
+        assertEquals("203.0.113.7", resolver.resolve(request));
+    }
+
+    @Test
+    void resolve_WithSpoofedLeftmostEntry_ShouldKeyOnTheHopTheProxySaw() {
+        // Given
+        ClientIpResolver resolver = resolver("10.0.0.0/8");
+        MockHttpServletRequest request = request("10.0.0.5", "1.2.3.4, 198.51.100.9");
+
+        // When & Then
+        assertEquals("198.51.100.9", resolver.resolve(request));
+    }
+
+    @Test
+    void resolve_FromUntrustedPeer_ShouldIgnoreForwardedFor() {
+        // Given
+        ClientIpResolver resolver = resolver("10.0.0.0/8");
+        MockHttpServletRequest request = request("198.51.100.9", "10.0.0.7");
+
+        // When & Then
+        assertEquals("198.51.100.9", resolver.resolve(request));
+    }
+
+    @Test
+    void resolve_FromTrustedProxyWithoutHeader_ShouldUseTheProxyAddress() {
+        // Given
+        ClientIpResolver resolver = resolver("10.0.0.0/8");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.5");
+
+        // When & Then
+        assertEquals("10.0.0.5", resolver.resolve(request));
+    }
+
+    private static ClientIpResolver resolver(String... trustedProxies) {
+        ClientIpResolver resolver = new ClientIpResolver();
+        ReflectionTestUtils.setField(resolver, "trustedProxies", List.of(trustedProxies));
+        resolver.init();
+        return resolver;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        return request;
+    }
+}
@@ -3,6 +3,7 @@ package com.enterprise.user_management.security;
 import com.enterprise.user_management.entity.User;
 import com.enterprise.user_management.enums.UserRole;
 import com.enterprise.user_management.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +34,9 @@ class JwtSecurityTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private User testUser;
     private UserDetails testUserDetails;
 
@@ -243,4 +247,58 @@ class JwtSecurityTest {
         String extractedUsername = jwtUtil.extractUsername(token);
         assertEquals("jwtuser", extractedUsername);
     }
-}
\ No newline at end of file
+
+    @Test
+    void extractUsername_CalledTwiceWithSameToken_ShouldHitClaimsCache() {
+        // Given
+        String token = jwtUtil.generateTokenSimple("jwtuser");
+        double hitsBefore = cacheGets("hit");
+        double missesBefore = cacheGets("miss");
+
+        // When
+        jwtUtil.extractUsername(token);
+        jwtUtil.extractUsername(token);
+
+        // Then
+        assertEquals(missesBefore + 1, cacheGets("miss"));
+        assertEquals(hitsBefore + 1, cacheGets("hit"));
+    }
+
+    @Test
+    void extractUsername_FromInvalidToken_ShouldNotBeCached() {
+        // Given
+        String invalidToken = "invalid.jwt.token";
+
+        // When & Then - a failed verification must be re-checked every time
+        assertThrows(Exception.class, () -> jwtUtil.extractUsername(invalidToken));
+        assertThrows(Exception.class, () -> jwtUtil.extractUsername(invalidToken));
+    }
+
+    @Test
+    void parseToken_FromValidToken_ShouldExposeSubjectAndExpiry() {
+        // Given
+        String token = jwtUtil.generateToken(testUserDetails);
+
+        // When
+        ParsedToken parsedToken = jwtUtil.parseToken(token);
+
+        // Then
+        assertEquals("jwtuser", parsedToken.getSubject());
+        assertTrue(parsedToken.getExpiration().after(new java.util.Date()));
+        assertFalse(parsedToken.isExpired());
+        assertTrue(jwtUtil.validateToken(parsedToken, testUserDetails));
+    }
+
+    @Test
+    void parseToken_FromInvalidToken_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> jwtUtil.parseToken("invalid.jwt.token"));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "jwt.claims")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,113 @@
+package com.enterprise.user_management.security;
+
+import com.enterprise.user_management.enums.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtStatelessModeTest {
+
+    private JwtUtil jwtUtil;
+    private UserDetailsService userDetailsService;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = createJwtUtil(true, 300000L);
+        userDetailsService = mock(UserDetailsService.class);
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "revocationStore", mock(TokenRevocationStore.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void generateToken_InStatelessMode_ShouldEmbedRoleAndUserId() {
+        // When
+        ParsedToken parsedToken = jwtUtil.parseToken(jwtUtil.generateToken("statelessuser", 42L, UserRole.MANAGER));
+
+        // Then
+        assertEquals("statelessuser", parsedToken.getSubject());
+        assertEquals(UserRole.MANAGER, parsedToken.getRole());
+        assertEquals(42L, parsedToken.getUserId());
+        assertTrue(jwtUtil.isStatelessAuthenticationAllowed(parsedToken));
+    }
+
+    @Test
+    void generateToken_WithStatelessModeDisabled_ShouldNotEmbedClaims() {
+        // Given
+        JwtUtil statefulJwtUtil = createJwtUtil(false, 300000L);
+
+        // When
+        ParsedToken parsedToken = statefulJwtUtil.parseToken(statefulJwtUtil.generateToken("statelessuser", 42L, UserRole.MANAGER));
+
+        // Then
+        assertNull(parsedToken.getRole());
+        assertNull(parsedToken.getUserId());
+        assertFalse(statefulJwtUtil.isStatelessAuthenticationAllowed(parsedToken));
+    }
+
+    @Test
+    void isStatelessAuthenticationAllowed_WhenClaimsOlderThanMaxStaleness_ShouldReturnFalse() {
+        // Given - a negative window means every token is already too old
+        JwtUtil strictJwtUtil = createJwtUtil(true, -1L);
+
+        // When
+        ParsedToken parsedToken = strictJwtUtil.parseToken(strictJwtUtil.generateToken("statelessuser", 42L, UserRole.USER));
+
+        // Then
+        assertFalse(strictJwtUtil.isStatelessAuthenticationAllowed(parsedToken));
+    }
+
+    @Test
+    void doFilter_WithFreshStatelessToken_ShouldAuthenticateWithoutUserLookup() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken("statelessuser", 42L, UserRole.ADMIN));
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("statelessuser", authentication.getName());
+        assertTrue(authentication.getAuthorities().stream()
+                .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN")));
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    private JwtUtil createJwtUtil(boolean statelessEnabled, long maxStaleness) {
+        JwtClaimsCache claimsCache = new JwtClaimsCache();
+        ReflectionTestUtils.setField(claimsCache, "enabled", false);
+        ReflectionTestUtils.setField(claimsCache, "meterRegistry", new SimpleMeterRegistry());
+        claimsCache.init();
+
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", "heheBoiiTestingPurposeButLongTokenCauseChotoKajKoreNa");
+        ReflectionTestUtils.setField(util, "expiration", 3600000L);
+        ReflectionTestUtils.setField(util, "statelessEnabled", statelessEnabled);
+        ReflectionTestUtils.setField(util, "statelessMaxStaleness", maxStaleness);
+        ReflectionTestUtils.setField(util, "claimsCache", claimsCache);
+        util.init();
+        return util;
+    }
+}
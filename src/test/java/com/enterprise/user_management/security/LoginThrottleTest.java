@@ -0,0 +1,107 @@
+package com.enterprise.user_management.security;
+
+import com.enterprise.user_management.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong now;
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        now = new AtomicLong(Duration.ofDays(1).toMillis());
+
+        loginThrottle = new LoginThrottle();
+        ReflectionTestUtils.setField(loginThrottle, "enabled", true);
+        ReflectionTestUtils.setField(loginThrottle, "failureWindow", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(loginThrottle, "maxKeys", 1000L);
+        ReflectionTestUtils.setField(loginThrottle, "usernameCapacity", 3);
+        ReflectionTestUtils.setField(loginThrottle, "usernameRefillPerMinute", 1.0);
+        ReflectionTestUtils.setField(loginThrottle, "usernameMaxFailures", 2);
+        ReflectionTestUtils.setField(loginThrottle, "ipCapacity", 5);
+        ReflectionTestUtils.setField(loginThrottle, "ipRefillPerMinute", 1.0);
+        ReflectionTestUtils.setField(loginThrottle, "ipMaxFailures", 4);
+        ReflectionTestUtils.setField(loginThrottle, "meterRegistry", meterRegistry);
+        loginThrottle.clock = now::get;
+        loginThrottle.init();
+    }
+
+    @Test
+    void acquire_BeyondUsernameCapacity_ShouldRejectUntilRefilled() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.acquire("throttled", "10.0.0." + i);
+        }
+
+        // When & Then
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> loginThrottle.acquire("Throttled", "10.0.0.9"));
+        assertEquals(60, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("login.throttle.rejected")
+                .tag("key", "username").tag("reason", "rate").counter().count());
+
+        now.addAndGet(Duration.ofMinutes(1).toMillis());
+        assertDoesNotThrow(() -> loginThrottle.acquire("throttled", "10.0.0.9"));
+    }
+
+    @Test
+    void acquire_BeyondIpCapacity_ShouldRejectAcrossUsernames() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.acquire("user" + i, "10.0.0.1");
+        }
+
+        // When & Then
+        assertThrows(RateLimitExceededException.class, () -> loginThrottle.acquire("another", "10.0.0.1"));
+        assertDoesNotThrow(() -> loginThrottle.acquire("another", "10.0.0.2"));
+    }
+
+    @Test
+    void recordFailure_UpToMaxFailures_ShouldLockUsernameForWindow() {
+        // Given
+        loginThrottle.recordFailure("victim", "10.0.0.1");
+        loginThrottle.recordFailure("victim", "10.0.0.2");
+
+        // When & Then
+        assertThrows(RateLimitExceededException.class, () -> loginThrottle.acquire("victim", "10.0.0.3"));
+        assertEquals(1.0, meterRegistry.get("login.throttle.rejected")
+                .tag("key", "username").tag("reason", "failures").counter().count());
+
+        // Both failures have faded out once two windows have passed
+        now.addAndGet(Duration.ofMinutes(30).toMillis());
+        assertDoesNotThrow(() -> loginThrottle.acquire("victim", "10.0.0.3"));
+    }
+
+    @Test
+    void recordSuccess_ShouldClearUsernameFailures() {
+        // Given
+        loginThrottle.recordFailure("forgetful", "10.0.0.1");
+        loginThrottle.recordSuccess("forgetful");
+        loginThrottle.recordFailure("forgetful", "10.0.0.1");
+
+        // When & Then
+        assertDoesNotThrow(() -> loginThrottle.acquire("forgetful", "10.0.0.1"));
+    }
+
+    @Test
+    void acquire_ShouldExposeKeyCounts() {
+        // When
+        loginThrottle.acquire("first", "10.0.0.1");
+        loginThrottle.acquire("second", "10.0.0.1");
+
+        // Then
+        assertEquals(2.0, meterRegistry.get("login.throttle.keys").tag("key", "username").gauge().value());
+        assertEquals(1.0, meterRegistry.get("login.throttle.keys").tag("key", "ip").gauge().value());
+    }
+}
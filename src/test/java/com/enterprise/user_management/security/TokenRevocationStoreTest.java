@@ -0,0 +1,98 @@
+package com.enterprise.user_management.security;
+
+import com.enterprise.user_management.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationStoreTest {
+
+    private RevokedTokenRepository revokedTokenRepository;
+    private TokenRevocationStore revocationStore;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        revocationStore = new TokenRevocationStore();
+        ReflectionTestUtils.setField(revocationStore, "bucketWidth", Duration.ofHours(1));
+        ReflectionTestUtils.setField(revocationStore, "expectedPerBucket", 1000);
+        ReflectionTestUtils.setField(revocationStore, "persistent", false);
+        ReflectionTestUtils.setField(revocationStore, "revokedTokenRepository", revokedTokenRepository);
+        ReflectionTestUtils.setField(revocationStore, "meterRegistry", new SimpleMeterRegistry());
+        revocationStore.init();
+    }
+
+    @Test
+    void isRevoked_AfterRevoke_ShouldReturnTrueOnlyForThatToken() {
+        // Given
+        ParsedToken revoked = token(Duration.ofMinutes(30));
+        ParsedToken other = token(Duration.ofMinutes(30));
+
+        // When
+        revocationStore.revoke(revoked);
+
+        // Then
+        assertTrue(revocationStore.isRevoked(revoked));
+        assertFalse(revocationStore.isRevoked(other));
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void isRevoked_WithManyRevocations_ShouldHaveNoFalsePositives() {
+        // Given
+        for (int i = 0; i < 5000; i++) {
+            revocationStore.revoke(token(Duration.ofMinutes(30)));
+        }
+
+        // When & Then - the exact set behind the Bloom filter rules out false positives
+        for (int i = 0; i < 5000; i++) {
+            assertFalse(revocationStore.isRevoked(token(Duration.ofMinutes(30))));
+        }
+        assertEquals(5000, revocationStore.size());
+    }
+
+    @Test
+    void purgeExpired_ShouldDropBucketsWhoseWindowHasPassed() {
+        // Given
+        revocationStore.revoke(token(Duration.ofHours(-3)));
+        revocationStore.revoke(token(Duration.ofHours(3)));
+
+        // When
+        revocationStore.purgeExpired();
+
+        // Then
+        assertEquals(1, revocationStore.size());
+    }
+
+    @Test
+    void revoke_WhenPersistent_ShouldStoreRevocation() {
+        // Given
+        ReflectionTestUtils.setField(revocationStore, "persistent", true);
+
+        // When
+        revocationStore.revoke(token(Duration.ofMinutes(30)));
+
+        // Then
+        verify(revokedTokenRepository).save(any());
+    }
+
+    private ParsedToken token(Duration expiresIn) {
+        Claims claims = Jwts.claims()
+                .id(UUID.randomUUID().toString())
+                .subject("revokeduser")
+                .expiration(new Date(System.currentTimeMillis() + expiresIn.toMillis()))
+                .build();
+        return new ParsedToken("unused", claims);
+    }
+}
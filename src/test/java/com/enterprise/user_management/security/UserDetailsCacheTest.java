@@ -0,0 +1,141 @@
+package com.enterprise.user_management.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDetailsCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserDetailsCache userDetailsCache;
+    private AtomicInteger loads;
+    private Function<String, UserDetails> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsCache = new UserDetailsCache();
+        ReflectionTestUtils.setField(userDetailsCache, "enabled", true);
+        ReflectionTestUtils.setField(userDetailsCache, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(userDetailsCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(userDetailsCache, "meterRegistry", meterRegistry);
+        userDetailsCache.init();
+
+        loads = new AtomicInteger();
+        loader = username -> {
+            loads.incrementAndGet();
+            if (username.equals("missing")) {
+                throw new UsernameNotFoundException("User not found: " + username);
+            }
+            return User.withUsername(username)
+                    .password("encoded")
+                    .authorities(List.of(new SimpleGrantedAuthority("ROLE_USER")))
+                    .build();
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_CalledTwice_ShouldLoadOnce() {
+        // When
+        userDetailsCache.get("cacheduser", loader);
+        UserDetails result = userDetailsCache.get("cacheduser", loader);
+
+        // Then
+        assertEquals("cacheduser", result.getUsername());
+        assertEquals(1, loads.get());
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").tag("cache", "user.details").gauge().value());
+    }
+
+    @Test
+    void get_WhenLoaderThrows_ShouldNotCacheFailure() {
+        // When & Then
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsCache.get("missing", loader));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsCache.get("missing", loader));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ConcurrentCallersForSameUser_ShouldShareOneLoad() throws Exception {
+        // Given
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        Function<String, UserDetails> slowLoader = username -> {
+            loadStarted.countDown();
+            try {
+                releaseLoad.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loader.apply(username);
+        };
+
+        // When
+        CompletableFuture<UserDetails> first = CompletableFuture.supplyAsync(() -> userDetailsCache.get("shareduser", slowLoader));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<UserDetails> second = CompletableFuture.supplyAsync(() -> userDetailsCache.get("shareduser", slowLoader));
+        releaseLoad.countDown();
+
+        // Then
+        assertEquals("shareduser", first.get(5, TimeUnit.SECONDS).getUsername());
+        assertEquals("shareduser", second.get(5, TimeUnit.SECONDS).getUsername());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidate_ShouldForceReload() {
+        // Given
+        userDetailsCache.get("cacheduser", loader);
+
+        // When
+        userDetailsCache.invalidate("cacheduser");
+        userDetailsCache.get("cacheduser", loader);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_InsideTransaction_ShouldEvictAgainAfterCompletion() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        userDetailsCache.get("cacheduser", loader);
+        userDetailsCache.invalidate("cacheduser");
+
+        // A concurrent reader repopulates the entry before the writer commits
+        userDetailsCache.get("cacheduser", loader);
+
+        // When
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        userDetailsCache.get("cacheduser", loader);
+
+        // Then
+        assertEquals(3, loads.get());
+    }
+}
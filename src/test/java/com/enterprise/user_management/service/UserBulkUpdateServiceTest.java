@@ -0,0 +1,139 @@
+package com.enterprise.user_management.service;
+
+import com.enterprise.user_management.dto.UserBulkTarget;
+import com.enterprise.user_management.dto.UserBulkUpdateRequest;
+import com.enterprise.user_management.dto.UserBulkUpdateResponse;
+import com.enterprise.user_management.enums.UserEventType;
+import com.enterprise.user_management.enums.UserRole;
+import com.enterprise.user_management.exception.BadRequestException;
+import com.enterprise.user_management.outbox.UserOutbox;
+import com.enterprise.user_management.repository.UserRepository;
+import com.enterprise.user_management.security.UserDetailsCache;
+import com.enterprise.user_management.service.impl.UserBulkUpdateServiceImpl;
+import com.enterprise.user_management.stats.UserCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserBulkUpdateServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private UserCounters userCounters;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UserOutbox userOutbox;
+
+    @InjectMocks
+    private UserBulkUpdateServiceImpl userBulkUpdateService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ReflectionTestUtils.setField(userBulkUpdateService, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(userBulkUpdateService, "chunkSize", 2);
+    }
+
+    @Test
+    void setActive_WithIds_ShouldUpdateOnlyChangedUsersPerChunk() {
+        // Given - three ids over two chunks; bob is already inactive
+        when(userRepository.findBulkTargetsByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                new UserBulkTarget(1L, "alice", UserRole.USER, true),
+                new UserBulkTarget(2L, "bob", UserRole.USER, false)));
+        when(userRepository.findBulkTargetsByIdIn(List.of(3L))).thenReturn(List.of(
+                new UserBulkTarget(3L, "carol", UserRole.ADMIN, true)));
+        when(userRepository.updateActiveByIdIn(eq(List.of(1L)), eq(false), any())).thenReturn(1);
+        when(userRepository.updateActiveByIdIn(eq(List.of(3L)), eq(false), any())).thenReturn(1);
+
+        // When
+        UserBulkUpdateResponse response = userBulkUpdateService.setActive(
+                new UserBulkUpdateRequest(List.of(1L, 2L, 3L, 1L), null, null), false);
+
+        // Then
+        assertEquals(3, response.getMatched());
+        assertEquals(2, response.getAffected());
+        verify(userDetailsCache).invalidateAll(List.of("alice"));
+        verify(userDetailsCache).invalidateAll(List.of("carol"));
+        verify(userCounters).recordChanged(new UserCounters.CountedState(UserRole.ADMIN, true),
+                new UserCounters.CountedState(UserRole.ADMIN, false));
+        verify(userCounters, never()).reconcile();
+        // Events are read back by the stamp the UPDATE wrote, so rows it skipped get none
+        ArgumentCaptor<LocalDateTime> stamp = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(userRepository).updateActiveByIdIn(eq(List.of(1L)), eq(false), stamp.capture());
+        verify(userRepository).findResponsesByIdInAndUpdatedAt(List.of(1L), stamp.getValue());
+        verify(userRepository).findResponsesByIdInAndUpdatedAt(eq(List.of(3L)), any());
+        verify(userOutbox, times(2)).recordAll(eq(UserEventType.DEACTIVATED), anyList());
+    }
+
+    @Test
+    void changeRole_WithFilter_ShouldPageByIdUntilAShortChunk() {
+        // Given
+        when(userRepository.findBulkTargetsAfter(eq(0L), eq(UserRole.USER), isNull(), eq("%sales%"), any(Limit.class)))
+                .thenReturn(List.of(new UserBulkTarget(4L, "sales1", UserRole.USER, true),
+                        new UserBulkTarget(7L, "sales2", UserRole.USER, true)));
+        when(userRepository.findBulkTargetsAfter(eq(7L), eq(UserRole.USER), isNull(), eq("%sales%"), any(Limit.class)))
+                .thenReturn(List.of(new UserBulkTarget(9L, "sales3", UserRole.USER, false)));
+        when(userRepository.updateRoleByIdIn(anyList(), eq(UserRole.ADMIN), any()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        // When
+        UserBulkUpdateResponse response = userBulkUpdateService.changeRole(new UserBulkUpdateRequest(
+                null, new UserBulkUpdateRequest.Filter(UserRole.USER, null, "sales"), UserRole.ADMIN));
+
+        // Then
+        assertEquals(3, response.getAffected());
+        verify(userRepository).updateRoleByIdIn(eq(List.of(4L, 7L)), eq(UserRole.ADMIN), any());
+        verify(userRepository).updateRoleByIdIn(eq(List.of(9L)), eq(UserRole.ADMIN), any());
+        verify(userDetailsCache).invalidateAll(List.of("sales3"));
+    }
+
+    @Test
+    void setActive_WhenRowsChangedConcurrently_ShouldReconcileCounters() {
+        // Given
+        when(userRepository.findBulkTargetsByIdIn(List.of(1L))).thenReturn(List.of(
+                new UserBulkTarget(1L, "alice", UserRole.USER, false)));
+        when(userRepository.updateActiveByIdIn(eq(List.of(1L)), eq(true), any())).thenReturn(0);
+
+        // When
+        UserBulkUpdateResponse response = userBulkUpdateService.setActive(
+                new UserBulkUpdateRequest(List.of(1L), null, null), true);
+
+        // Then
+        assertEquals(0, response.getAffected());
+        verify(userCounters, never()).recordChanged(any(UserCounters.CountedState.class), any(UserCounters.CountedState.class));
+        verify(userCounters).reconcile();
+        verifyNoInteractions(userOutbox);
+    }
+
+    @Test
+    void setActive_WithoutSelection_ShouldRejectRatherThanUpdateEveryone() {
+        assertThrows(BadRequestException.class, () -> userBulkUpdateService.setActive(
+                new UserBulkUpdateRequest(List.of(), new UserBulkUpdateRequest.Filter(), null), false));
+        verifyNoInteractions(userRepository);
+    }
+}
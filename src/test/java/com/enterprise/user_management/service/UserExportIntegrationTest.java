@@ -0,0 +1,82 @@
+package com.enterprise.user_management.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserExportIntegrationTest {
+
+    private static final int USERS = 50_000;
+    private static final int HEAP_SAMPLE_INTERVAL = 10_000;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            rows.add(new Object[]{"export" + i, "export" + i + "@example.com", "encoded",
+                    "Export", "User" + i, "USER", true, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, first_name, last_name, role, active, " +
+                "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void streamAllUsers_ShouldKeepMemoryFlatAcrossLargeExport() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long baseline = retainedHeap(memory);
+        long[] peakRetained = {0};
+        int[] peakManagedEntities = {0};
+
+        // The transaction-bound EntityManager proxy resolves to the session doing the export
+        long exported = userService.streamAllUsers(user -> {
+            int managed = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+            peakManagedEntities[0] = Math.max(peakManagedEntities[0], managed);
+            if (user.getId() % HEAP_SAMPLE_INTERVAL == 0) {
+                peakRetained[0] = Math.max(peakRetained[0], retainedHeap(memory) - baseline);
+            }
+        });
+
+        assertEquals(USERS, exported);
+        assertTrue(peakManagedEntities[0] <= 1, "Persistence context grew to " + peakManagedEntities[0]);
+        // Holding every exported user would retain tens of MB at this size
+        assertTrue(peakRetained[0] < 16 * 1024 * 1024, "Retained heap grew by " + peakRetained[0] + " bytes");
+    }
+
+    private long retainedHeap(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,138 @@
+package com.enterprise.user_management.service;
+
+import com.enterprise.user_management.exception.ResourceNotFoundException;
+import com.enterprise.user_management.export.ExportFormat;
+import com.enterprise.user_management.export.UserExportJob;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Parts are written by the export pool, outside any test transaction, so the users are committed
+@SpringBootTest
+@ActiveProfiles("test")
+class UserExportJobServiceIntegrationTest {
+
+    private static final int USERS = 2_500;
+
+    @Autowired
+    private UserExportJobService userExportJobService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            rows.add(new Object[]{"dump" + i, "dump" + i + "@example.com", "encoded",
+                    "Dump", "User, No. " + i, "USER", true, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, first_name, last_name, role, active, " +
+                "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        ReflectionTestUtils.setField(userExportJobService, "rangeSize", 1000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(userExportJobService, "rangeSize", 100000L);
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void startExport_ShouldWriteEveryUserOnceAcrossCompressedParts() throws Exception {
+        // When
+        UserExportJob job = awaitFinished(userExportJobService.startExport(ExportFormat.CSV).getId());
+
+        // Then
+        assertEquals(UserExportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(3, job.getParts().size());
+        assertEquals(3, job.getPartsDone());
+        assertEquals(USERS, job.getRowsExported());
+
+        List<Long> ids = new ArrayList<>();
+        for (UserExportJob.Part part : job.getParts()) {
+            List<String> lines = readPart(job.getId(), part.getIndex());
+            assertEquals("id,username,email,firstName,lastName,phone,role,active,createdAt,updatedAt", lines.get(0));
+            assertTrue(lines.get(1).contains(",\"User, No. "), "fields with commas are quoted");
+            lines.stream().skip(1).forEach(line -> ids.add(Long.parseLong(line.substring(0, line.indexOf(',')))));
+        }
+        assertEquals(USERS, ids.size());
+        assertEquals(USERS, new HashSet<>(ids).size());
+    }
+
+    // Simulates a restart: the job is forgotten in memory and one finished part file is lost
+    @Test
+    void resumeExport_AfterRestart_ShouldRedoOnlyMissingParts() throws Exception {
+        // Given
+        UserExportJob job = awaitFinished(userExportJobService.startExport(ExportFormat.NDJSON).getId());
+        Path first = userExportJobService.getPartFile(job.getId(), 1);
+        Path second = userExportJobService.getPartFile(job.getId(), 2);
+        FileTime firstWritten = Files.getLastModifiedTime(first);
+        Files.delete(second);
+        ((Map<?, ?>) ReflectionTestUtils.getField(userExportJobService, "jobs")).clear();
+
+        // When
+        userExportJobService.resumeExport(job.getId());
+        UserExportJob resumed = awaitFinished(job.getId());
+
+        // Then
+        assertEquals(UserExportJob.Status.COMPLETED, resumed.getStatus());
+        assertEquals(USERS, resumed.getRowsExported());
+        assertTrue(Files.exists(second));
+        assertEquals(firstWritten, Files.getLastModifiedTime(first));
+        List<String> lines = readPart(job.getId(), 2);
+        assertEquals(1000, lines.size());
+        assertTrue(objectMapper.readTree(lines.get(0)).get("username").asText().startsWith("dump"));
+    }
+
+    @Test
+    void getExport_WithUnknownJob_ShouldThrowNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> userExportJobService.getExport("../../etc"));
+    }
+
+    private UserExportJob awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        UserExportJob job = userExportJobService.getExport(jobId);
+        while (job.getStatus() == UserExportJob.Status.RUNNING) {
+            assertTrue(System.nanoTime() < deadline, "export did not finish");
+            Thread.sleep(50);
+            job = userExportJobService.getExport(jobId);
+        }
+        return job;
+    }
+
+    private List<String> readPart(String jobId, int index) throws IOException {
+        Path file = userExportJobService.getPartFile(jobId, index);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+}
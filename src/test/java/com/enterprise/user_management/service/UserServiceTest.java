@@ -1,30 +1,44 @@
 package com.enterprise.user_management.service;
 
+import com.enterprise.user_management.datasource.HedgedReadExecutor;
+import com.enterprise.user_management.dto.ScrollResponse;
 import com.enterprise.user_management.dto.UserCreateDTO;
 import com.enterprise.user_management.dto.UserResponseDTO;
 import com.enterprise.user_management.entity.User;
 import com.enterprise.user_management.exception.DuplicateResourceException;
 import com.enterprise.user_management.exception.ResourceNotFoundException;
+import com.enterprise.user_management.outbox.UserOutbox;
+import com.enterprise.user_management.pagination.UserCursor;
 import com.enterprise.user_management.repository.UserRepository;
+import com.enterprise.user_management.search.UserSearchIndex;
+import com.enterprise.user_management.security.UserDetailsCache;
 import com.enterprise.user_management.service.impl.UserServiceImpl;
+import com.enterprise.user_management.stats.UserCounters;
 import com.enterprise.user_management.util.TestDataBuilder;
 import com.enterprise.user_management.dto.UserUpdateDTO;
+import com.enterprise.user_management.enums.UserEventType;
 import com.enterprise.user_management.enums.UserRole;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
+import java.sql.SQLException;
 import java.util.Optional;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -39,6 +53,24 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private UserCounters userCounters;
+
+    @Mock
+    private HedgedReadExecutor hedgedReadExecutor;
+
+    @Mock
+    private UserOutbox userOutbox;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -54,10 +86,8 @@ class UserServiceTest {
     @Test
     void createUser_Success() {
         // Given
-        when(userRepository.existsByUsername(userCreateDTO.getUsername())).thenReturn(false);
-        when(userRepository.existsByEmail(userCreateDTO.getEmail())).thenReturn(false);
         when(passwordEncoder.encode(userCreateDTO.getPassword())).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         // When
         UserResponseDTO result = userService.createUser(userCreateDTO);
@@ -69,16 +99,17 @@ class UserServiceTest {
         assertEquals(userCreateDTO.getRole(), result.getRole());
         assertTrue(result.getActive());
 
-        verify(userRepository).existsByUsername(userCreateDTO.getUsername());
-        verify(userRepository).existsByEmail(userCreateDTO.getEmail());
         verify(passwordEncoder).encode(userCreateDTO.getPassword());
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userOutbox).record(eq(UserEventType.CREATED), any(User.class));
     }
 
     @Test
     void createUser_DuplicateUsername_ThrowsException() {
         // Given
-        when(userRepository.existsByUsername(userCreateDTO.getUsername())).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation(User.USERNAME_CONSTRAINT));
 
         // When & Then
         DuplicateResourceException exception = assertThrows(
@@ -87,14 +118,13 @@ class UserServiceTest {
         );
 
         assertEquals("Username already exists: " + userCreateDTO.getUsername(), exception.getMessage());
-        verify(userRepository).existsByUsername(userCreateDTO.getUsername());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userOutbox, never()).record(any(), any());
     }
 
     @Test
     void getUserById_Success() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findResponseById(1L)).thenReturn(Optional.of(UserResponseDTO.fromEntity(user)));
 
         // When
         UserResponseDTO result = userService.getUserById(1L);
@@ -105,13 +135,14 @@ class UserServiceTest {
         assertEquals(user.getUsername(), result.getUsername());
         assertEquals(user.getEmail(), result.getEmail());
 
-        verify(userRepository).findById(1L);
+        verify(userRepository).findResponseById(1L);
+        verify(userRepository, never()).findById(anyLong());
     }
 
     @Test
     void getUserById_NotFound_ThrowsException() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findResponseById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
@@ -120,12 +151,38 @@ class UserServiceTest {
         );
 
         assertEquals("User not found with id: 1", exception.getMessage());
-        verify(userRepository).findById(1L);
+        verify(userRepository).findResponseById(1L);
     }
 
     @Test
     void createUser_DuplicateEmail_ThrowsException() {
         // Given
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation(User.EMAIL_CONSTRAINT));
+
+        // When & Then
+        DuplicateResourceException exception = assertThrows(
+                DuplicateResourceException.class,
+                () -> userService.createUser(userCreateDTO)
+        );
+
+        assertEquals("Email already exists: " + userCreateDTO.getEmail(), exception.getMessage());
+    }
+
+    @Test
+    void createUser_OtherIntegrityViolation_Rethrows() {
+        // Given
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("fk_something_else"));
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () -> userService.createUser(userCreateDTO));
+        verify(userRepository).existsByUsername(userCreateDTO.getUsername());
+        verify(userRepository).existsByEmail(userCreateDTO.getEmail());
+    }
+
+    @Test
+    void createUser_DuplicateUnderGeneratedConstraintName_ChecksTheTable() {
+        // Given
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("ukr43af9ap4edm43mmtq01oddj6"));
         when(userRepository.existsByUsername(userCreateDTO.getUsername())).thenReturn(false);
         when(userRepository.existsByEmail(userCreateDTO.getEmail())).thenReturn(true);
 
@@ -136,7 +193,7 @@ class UserServiceTest {
         );
 
         assertEquals("Email already exists: " + userCreateDTO.getEmail(), exception.getMessage());
-        verify(userRepository, never()).save(any(User.class));
+        verify(transactionManager).commit(any());
     }
 
     @Test
@@ -170,8 +227,9 @@ class UserServiceTest {
     @Test
     void getAllUsers_Success() {
         // Given
-        List<User> users = Arrays.asList(user, TestDataBuilder.createAdmin());
-        when(userRepository.findAll()).thenReturn(users);
+        List<UserResponseDTO> users = Arrays.asList(
+                UserResponseDTO.fromEntity(user), UserResponseDTO.fromEntity(TestDataBuilder.createAdmin()));
+        when(userRepository.findAllResponses()).thenReturn(users);
 
         // When
         List<UserResponseDTO> result = userService.getAllUsers();
@@ -179,24 +237,79 @@ class UserServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(userRepository).findAll();
+        verify(userRepository).findAllResponses();
+    }
+
+    @Test
+    void getAllUsers_WithPagination_ShouldNotCount() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("username").and(Sort.by("id")));
+        when(userRepository.findResponseSlice(pageable))
+                .thenReturn(new SliceImpl<>(List.of(UserResponseDTO.fromEntity(user)), pageable, true));
+
+        // When
+        ScrollResponse<UserResponseDTO> result = userService.getAllUsers(pageable, false);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertNull(result.getTotalElements());
+        assertEquals(user.getUsername(), UserCursor.decode(result.getNextCursor()).lastValue());
+        verify(userRepository, never()).findResponsePage(any(Pageable.class));
     }
 
     @Test
-    void getAllUsers_WithPagination_Success() {
+    void getAllUsers_WithTotalRequested_ShouldCount() {
         // Given
-        List<User> users = Arrays.asList(user);
-        Page<User> userPage = new PageImpl<>(users);
         Pageable pageable = PageRequest.of(0, 10);
-        when(userRepository.findAll(pageable)).thenReturn(userPage);
+        when(userRepository.findResponsePage(pageable))
+                .thenReturn(new PageImpl<>(List.of(UserResponseDTO.fromEntity(user)), pageable, 1));
 
         // When
-        Page<UserResponseDTO> result = userService.getAllUsers(pageable);
+        ScrollResponse<UserResponseDTO> result = userService.getAllUsers(pageable, true);
 
         // Then
-        assertNotNull(result);
         assertEquals(1, result.getContent().size());
-        verify(userRepository).findAll(pageable);
+        assertFalse(result.isHasNext());
+        assertEquals(1L, result.getTotalElements());
+        verify(userRepository, never()).findResponseSlice(any(Pageable.class));
+    }
+
+    @Test
+    void searchUsers_WithoutIndex_ShouldUseSliceQuery() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        when(userSearchIndex.search("te", 0, 10)).thenReturn(null);
+        when(userRepository.searchResponseSlice("%te%", pageable))
+                .thenReturn(new SliceImpl<>(List.of(UserResponseDTO.fromEntity(user)), pageable, false));
+
+        // When
+        ScrollResponse<UserResponseDTO> result = userService.searchUsers("te", pageable, false);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertNull(result.getTotalElements());
+        verify(userRepository, never()).searchResponsePage(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void searchUsers_WithIndexHits_ShouldKeepRankAndReportTotalOnRequest() {
+        // Given
+        User other = TestDataBuilder.createUser();
+        other.setId(2L);
+        other.setUsername("other");
+        Pageable pageable = PageRequest.of(0, 2);
+        when(userSearchIndex.search("test", 0, 2)).thenReturn(new UserSearchIndex.SearchHits(List.of(2L, 1L), 5));
+        when(userRepository.findResponsesByIdIn(List.of(2L, 1L)))
+                .thenReturn(List.of(UserResponseDTO.fromEntity(user), UserResponseDTO.fromEntity(other)));
+
+        // When
+        ScrollResponse<UserResponseDTO> result = userService.searchUsers("test", pageable, true);
+
+        // Then
+        assertEquals(List.of(2L, 1L), result.getContent().stream().map(UserResponseDTO::getId).toList());
+        assertTrue(result.isHasNext());
+        assertEquals(5L, result.getTotalElements());
     }
 
     @Test
@@ -245,6 +358,8 @@ class UserServiceTest {
         // Then
         verify(userRepository).findById(1L);
         verify(userRepository).delete(user);
+        verify(userDetailsCache).invalidate(user.getUsername());
+        verify(userOutbox).record(UserEventType.DELETED, user);
     }
 
     @Test
@@ -269,6 +384,7 @@ class UserServiceTest {
         // Then
         verify(userRepository).findById(1L);
         verify(userRepository).save(any(User.class));
+        verify(userOutbox).record(UserEventType.ACTIVATED, user);
     }
 
     @Test
@@ -283,13 +399,15 @@ class UserServiceTest {
         // Then
         verify(userRepository).findById(1L);
         verify(userRepository).save(any(User.class));
+        verify(userDetailsCache).invalidate(user.getUsername());
+        verify(userOutbox).record(UserEventType.DEACTIVATED, user);
     }
 
     @Test
     void getUsersByRole_Success() {
         // Given
-        List<User> adminUsers = Arrays.asList(TestDataBuilder.createAdmin());
-        when(userRepository.findByRole(UserRole.ADMIN)).thenReturn(adminUsers);
+        List<UserResponseDTO> adminUsers = Arrays.asList(UserResponseDTO.fromEntity(TestDataBuilder.createAdmin()));
+        when(userRepository.findResponsesByRole(UserRole.ADMIN)).thenReturn(adminUsers);
 
         // When
         List<UserResponseDTO> result = userService.getUsersByRole(UserRole.ADMIN);
@@ -297,7 +415,7 @@ class UserServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(userRepository).findByRole(UserRole.ADMIN);
+        verify(userRepository).findResponsesByRole(UserRole.ADMIN);
     }
 
     @Test
@@ -312,5 +430,23 @@ class UserServiceTest {
         assertEquals(5L, result);
         verify(userRepository).count();
     }
-}
 
+    @Test
+    void getUserCounts_WithLiveCounters_ShouldNotQuery() {
+        // Given
+        when(userCounters.snapshot()).thenReturn(
+                new UserCounters.UserStats(5L, 4L, Map.of(UserRole.ADMIN, 1L, UserRole.USER, 4L)));
+
+        // When / Then
+        assertEquals(5L, userService.getTotalUserCount());
+        assertEquals(4L, userService.getActiveUserCount());
+        assertEquals(1L, userService.getUserCountByRole(UserRole.ADMIN));
+        assertEquals(0L, userService.getUserCountByRole(UserRole.GUEST));
+        verifyNoInteractions(userRepository);
+    }
+
+    private DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key"), constraintName));
+    }
+}
@@ -0,0 +1,135 @@
+package com.enterprise.user_management.stats;
+
+import com.enterprise.user_management.entity.User;
+import com.enterprise.user_management.enums.UserRole;
+import com.enterprise.user_management.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserCountersTest {
+
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private UserCounters userCounters;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        userCounters = new UserCounters();
+        ReflectionTestUtils.setField(userCounters, "enabled", true);
+        ReflectionTestUtils.setField(userCounters, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userCounters, "meterRegistry", meterRegistry);
+        userCounters.init();
+
+        when(userRepository.countGroupedByRoleAndActive()).thenReturn(List.of(
+                new UserCountGroup(UserRole.USER, true, 5),
+                new UserCountGroup(UserRole.USER, false, 2),
+                new UserCountGroup(UserRole.ADMIN, true, 1)
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void snapshot_BeforeFirstReconcile_ShouldDeferToDatabase() {
+        assertNull(userCounters.snapshot());
+    }
+
+    @Test
+    void reconcile_ShouldLoadTotalsFromOneGroupedQuery() {
+        // When
+        userCounters.reconcile();
+
+        // Then
+        UserCounters.UserStats stats = userCounters.snapshot();
+        assertEquals(8, stats.total());
+        assertEquals(6, stats.active());
+        assertEquals(7, stats.countByRole(UserRole.USER));
+        assertEquals(1, stats.countByRole(UserRole.ADMIN));
+        assertEquals(0, stats.countByRole(UserRole.GUEST));
+        verify(userRepository, times(1)).countGroupedByRoleAndActive();
+    }
+
+    @Test
+    void record_ShouldTrackCreateChangeAndDelete() {
+        // Given
+        userCounters.reconcile();
+        User user = user(UserRole.USER, true);
+
+        // When
+        userCounters.recordCreated(user);
+        UserCounters.CountedState before = UserCounters.CountedState.of(user);
+        user.setRole(UserRole.MANAGER);
+        user.setActive(false);
+        userCounters.recordChanged(before, user);
+
+        // Then
+        UserCounters.UserStats stats = userCounters.snapshot();
+        assertEquals(9, stats.total());
+        assertEquals(6, stats.active());
+        assertEquals(7, stats.countByRole(UserRole.USER));
+        assertEquals(1, stats.countByRole(UserRole.MANAGER));
+
+        // When
+        userCounters.recordDeleted(user);
+
+        // Then
+        stats = userCounters.snapshot();
+        assertEquals(8, stats.total());
+        assertEquals(0, stats.countByRole(UserRole.MANAGER));
+    }
+
+    @Test
+    void record_InsideTransaction_ShouldApplyOnlyAfterCommit() {
+        // Given
+        userCounters.reconcile();
+        TransactionSynchronizationManager.initSynchronization();
+        userCounters.recordCreated(user(UserRole.GUEST, true));
+        assertEquals(8, userCounters.snapshot().total());
+
+        // When
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+
+        // Then
+        assertEquals(9, userCounters.snapshot().total());
+        assertEquals(1, userCounters.snapshot().countByRole(UserRole.GUEST));
+    }
+
+    @Test
+    void reconcile_ShouldCorrectAndReportDrift() {
+        // Given
+        userCounters.reconcile();
+        userCounters.recordCreated(user(UserRole.USER, true)); // e.g. a write that later failed elsewhere
+
+        // When
+        userCounters.reconcile();
+
+        // Then
+        assertEquals(8, userCounters.snapshot().total());
+        assertEquals(3.0, meterRegistry.get("users.stats.drift").counter().count());
+    }
+
+    private User user(UserRole role, boolean active) {
+        User user = new User("counted", "counted@example.com", "encoded", role);
+        user.setActive(active);
+        return user;
+    }
+}
@@ -0,0 +1,37 @@
+package com.enterprise.user_management.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Registered through hibernate.session_factory.statement_inspector in application-test.yml
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql.toLowerCase(Locale.ROOT));
+        return sql;
+    }
+
+    public static void reset() {
+        statements.clear();
+    }
+
+    // Ignores the /* comment */ prefix Hibernate adds when use_sql_comments is on
+    public static long countSelectsFrom(String table) {
+        return statements.stream()
+                .map(sql -> sql.replaceFirst("^/\\*.*?\\*/\\s*", ""))
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from " + table + " "))
+                .count();
+    }
+
+    public static long countContaining(String fragment) {
+        return statements.stream()
+                .filter(sql -> sql.contains(fragment))
+                .count();
+    }
+}